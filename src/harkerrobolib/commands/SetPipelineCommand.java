@@ -0,0 +1,72 @@
+package harkerrobolib.commands;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import harkerrobolib.util.LimelightCamera;
+
+/**
+ * Switches a Limelight's pipeline and finishes once the camera reports the switch, so that
+ * commands sequenced after it read results from the new pipeline without a fixed delay.
+ *
+ * @since 10/17/26
+ */
+public class SetPipelineCommand extends Command {
+  private final LimelightCamera camera;
+  private final int pipeline;
+  private final double timeout;
+  private final Timer timer = new Timer();
+  private boolean timedOut;
+
+  /**
+   * Constructs a new SetPipelineCommand.
+   *
+   * @param camera the camera to switch
+   * @param pipeline the pipeline index
+   * @param timeout the maximum time to wait for the switch, in seconds
+   */
+  public SetPipelineCommand(LimelightCamera camera, int pipeline, double timeout) {
+    this.camera = camera;
+    this.pipeline = pipeline;
+    this.timeout = timeout;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void initialize() {
+    camera.setPipeline(pipeline);
+    timer.restart();
+    timedOut = false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean isFinished() {
+    return camera.isPipelineConfirmed() || timer.hasElapsed(timeout);
+  }
+
+  /** Reports a warning if the command gave up waiting for the switch. */
+  @Override
+  public void end(boolean interrupted) {
+    timedOut = !interrupted && !camera.isPipelineConfirmed();
+    if (timedOut) {
+      DriverStation.reportWarning(
+          "Limelight did not confirm pipeline " + pipeline + " within " + timeout + " s", false);
+    }
+  }
+
+  /**
+   * Determines whether the last run of this command ended without the camera confirming the switch.
+   *
+   * @return true if the command timed out; otherwise, false
+   */
+  public boolean isTimedOut() {
+    return timedOut;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean runsWhenDisabled() {
+    return true;
+  }
+}
@@ -0,0 +1,74 @@
+package harkerrobolib.util;
+
+/**
+ * Holds the camera's pose relative to the target, as computed by the Limelight's 3D localization.
+ * Instances are meant to be owned by the caller and refilled every loop with {@link
+ * LimelightCamera#readCamtran(CamtranPose)}.
+ *
+ * @since 10/17/26
+ */
+public class CamtranPose {
+  private boolean valid;
+  private double x;
+  private double y;
+  private double z;
+  private double pitch;
+  private double yaw;
+  private double roll;
+
+  /**
+   * Sets every value of this pose from a camtran array.
+   *
+   * @param camtran the values, in the order (x, y, z, pitch, yaw, roll)
+   * @param valid whether the values came from a complete camtran array
+   */
+  void set(double[] camtran, boolean valid) {
+    this.valid = valid;
+    x = camtran[0];
+    y = camtran[1];
+    z = camtran[2];
+    pitch = camtran[3];
+    yaw = camtran[4];
+    roll = camtran[5];
+  }
+
+  /**
+   * Determines whether the camera published a complete camtran array. If it did not, every value
+   * of this pose is 0.
+   *
+   * @return true if the pose is valid; otherwise, false
+   */
+  public boolean isValid() {
+    return valid;
+  }
+
+  /** @return the camera's horizontal distance from the target */
+  public double getX() {
+    return x;
+  }
+
+  /** @return the camera's height relative to the target's height */
+  public double getY() {
+    return y;
+  }
+
+  /** @return the camera's vertical distance from the target */
+  public double getZ() {
+    return z;
+  }
+
+  /** @return the camera's pitch relative to the target */
+  public double getPitch() {
+    return pitch;
+  }
+
+  /** @return the camera's yaw relative to the target */
+  public double getYaw() {
+    return yaw;
+  }
+
+  /** @return the camera's roll relative to the target */
+  public double getRoll() {
+    return roll;
+  }
+}
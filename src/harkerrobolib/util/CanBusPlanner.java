@@ -0,0 +1,228 @@
+package harkerrobolib.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import edu.wpi.first.wpilibj.DriverStation;
+import java.util.ArrayList;
+
+/**
+ * Plans the status signal update frequencies of the devices on each CAN bus. Each device declares
+ * the signals it needs and the rate it needs them at; {@link #apply()} estimates the resulting
+ * frames per second on every bus, scales the rates on any bus that would exceed its utilization
+ * budget down until it fits, sets each declared signal's frequency and disables every signal that
+ * was not declared.
+ *
+ * <p>The estimate counts one frame per declared signal per update. Phoenix may pack several
+ * signals into one frame, so the estimate errs on the side of overcounting.
+ *
+ * @since 10/17/26
+ */
+public class CanBusPlanner {
+  /** The approximate frame capacity of a 1 Mbit/s CAN 2.0 bus, at about 125 bits per frame. */
+  public static final double CAN_2_FRAMES_PER_SECOND = 8000;
+  /** The default fraction of a bus's capacity that status signals may use. */
+  public static final double DEFAULT_UTILIZATION_BUDGET = 0.7;
+  /** The lowest nonzero update frequency a signal supports, in Hz. */
+  public static final double MIN_FREQUENCY = 4;
+  /** The highest update frequency a signal supports, in Hz. */
+  public static final double MAX_FREQUENCY = 1000;
+
+  private final double utilizationBudget;
+  private final ArrayList<Bus> buses = new ArrayList<>();
+
+  /** The capacity of one CAN bus and the signals declared on it. */
+  private static class Bus {
+    private final String name;
+    private double framesPerSecond = CAN_2_FRAMES_PER_SECOND;
+    private final ArrayList<ParentDevice> devices = new ArrayList<>();
+    private final ArrayList<BaseStatusSignal> signals = new ArrayList<>();
+    private final ArrayList<Double> frequencies = new ArrayList<>();
+
+    private Bus(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Assigns each signal a frequency that fits the budget. Every signal above {@link
+     * #MIN_FREQUENCY} is scaled by the same factor; signals that reach the minimum stay there, and
+     * the others are scaled again to use the budget they leave.
+     *
+     * @return the assigned frequencies, in the order the signals were declared
+     */
+    private double[] plan(double budget) {
+      double[] assigned = new double[frequencies.size()];
+      double load = 0;
+      for (int i = 0; i < assigned.length; i++) {
+        assigned[i] = frequencies.get(i);
+        load += assigned[i];
+      }
+      for (int pass = 0; pass < assigned.length && load > budget; pass++) {
+        double fixed = 0;
+        double scalable = 0;
+        for (double frequency : assigned) {
+          if (frequency <= MIN_FREQUENCY) {
+            fixed += frequency;
+          } else {
+            scalable += frequency;
+          }
+        }
+        if (scalable == 0) {
+          break;
+        }
+        double factor = Math.max(0, budget - fixed) / scalable;
+        load = 0;
+        for (int i = 0; i < assigned.length; i++) {
+          if (assigned[i] > MIN_FREQUENCY) {
+            assigned[i] = Math.max(MIN_FREQUENCY, assigned[i] * factor);
+          }
+          load += assigned[i];
+        }
+      }
+      return assigned;
+    }
+
+    private double getLoad() {
+      double load = 0;
+      for (int i = 0; i < frequencies.size(); i++) {
+        load += frequencies.get(i);
+      }
+      return load;
+    }
+  }
+
+  /**
+   * Creates a planner.
+   *
+   * @param utilizationBudget the fraction of each bus's capacity that status signals may use
+   */
+  public CanBusPlanner(double utilizationBudget) {
+    this.utilizationBudget = utilizationBudget;
+  }
+
+  /** Creates a planner with the default utilization budget. */
+  public CanBusPlanner() {
+    this(DEFAULT_UTILIZATION_BUDGET);
+  }
+
+  /**
+   * Sets the capacity of a bus, such as a CANivore running CAN FD. Buses default to {@link
+   * #CAN_2_FRAMES_PER_SECOND}.
+   *
+   * @param canbus the name of the CAN bus
+   * @param framesPerSecond the number of frames per second the bus can carry
+   * @return this planner
+   */
+  public CanBusPlanner setCapacity(String canbus, double framesPerSecond) {
+    getBus(canbus).framesPerSecond = framesPerSecond;
+    return this;
+  }
+
+  /**
+   * Declares that a device needs a signal at a given rate. Declaring the same signal again keeps
+   * the higher rate.
+   *
+   * @param device the device that owns the signal
+   * @param signal the signal
+   * @param frequency the rate the signal is needed at, in Hz
+   * @return this planner
+   */
+  public CanBusPlanner request(ParentDevice device, BaseStatusSignal signal, double frequency) {
+    double clamped = Math.max(MIN_FREQUENCY, Math.min(MAX_FREQUENCY, frequency));
+    Bus bus = getBus(device.getNetwork());
+    if (!bus.devices.contains(device)) {
+      bus.devices.add(device);
+    }
+    int existing = bus.signals.indexOf(signal);
+    if (existing >= 0) {
+      bus.frequencies.set(existing, Math.max(bus.frequencies.get(existing), clamped));
+    } else {
+      bus.signals.add(signal);
+      bus.frequencies.add(clamped);
+    }
+    return this;
+  }
+
+  /**
+   * Estimates the status signal traffic requested on a bus, before any scaling by {@link
+   * #apply()}.
+   *
+   * @param canbus the name of the CAN bus
+   * @return the estimated frames per second, or 0 if nothing was declared on the bus
+   */
+  public double getLoad(String canbus) {
+    Bus bus = findBus(canbus);
+    return bus == null ? 0 : bus.getLoad();
+  }
+
+  /**
+   * Estimates the fraction of a bus's capacity the declared signals request, before any scaling by
+   * {@link #apply()}.
+   *
+   * @param canbus the name of the CAN bus
+   * @return the estimated utilization, or 0 if nothing was declared on the bus
+   */
+  public double getUtilization(String canbus) {
+    Bus bus = findBus(canbus);
+    return bus == null ? 0 : bus.getLoad() / bus.framesPerSecond;
+  }
+
+  /**
+   * Sets the frequency of every declared signal and disables the signals that were not declared.
+   * A bus whose requested rates exceed its utilization budget has them scaled down to fit, with a
+   * Driver Station warning; if the bus is oversubscribed even with every signal at {@link
+   * #MIN_FREQUENCY}, the minimum rates are applied and an error is reported.
+   *
+   * @return true if every bus fit its budget at the requested rates; otherwise, false
+   */
+  public boolean apply() {
+    boolean fit = true;
+    for (int i = 0; i < buses.size(); i++) {
+      Bus bus = buses.get(i);
+      double budget = bus.framesPerSecond * utilizationBudget;
+      double requested = bus.getLoad();
+      double[] assigned = bus.plan(budget);
+      if (requested > budget) {
+        fit = false;
+        double planned = 0;
+        for (double frequency : assigned) {
+          planned += frequency;
+        }
+        String message =
+            String.format(
+                "CAN bus \"%s\" is oversubscribed: %.0f frames/s requested, budget is %.0f;"
+                    + " applying %.0f frames/s",
+                bus.name, requested, budget, planned);
+        if (planned > budget) {
+          DriverStation.reportError(message, false);
+        } else {
+          DriverStation.reportWarning(message, false);
+        }
+      }
+      for (int j = 0; j < bus.signals.size(); j++) {
+        bus.signals.get(j).setUpdateFrequency(assigned[j]);
+      }
+      for (int j = 0; j < bus.devices.size(); j++) {
+        bus.devices.get(j).optimizeBusUtilization();
+      }
+    }
+    return fit;
+  }
+
+  private Bus findBus(String name) {
+    for (int i = 0; i < buses.size(); i++) {
+      if (buses.get(i).name.equals(name)) {
+        return buses.get(i);
+      }
+    }
+    return null;
+  }
+
+  private Bus getBus(String name) {
+    Bus bus = findBus(name);
+    if (bus == null) {
+      bus = new Bus(name);
+      buses.add(bus);
+    }
+    return bus;
+  }
+}
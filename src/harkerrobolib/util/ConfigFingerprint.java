@@ -0,0 +1,98 @@
+package harkerrobolib.util;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.CustomParamsConfigs;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.hardware.TalonFX;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Skips re-sending a configuration that a motor already holds. A stable hash of the intended
+ * configuration is stored on the device in its two custom parameters whenever the configuration is
+ * written; on the next boot the parameters are read back, and if they match, the apply is skipped.
+ *
+ * <p>The fingerprint only records what this library last wrote. A change made with another tool,
+ * such as Phoenix Tuner, is not detected unless it also clears the custom parameters.
+ *
+ * @since 10/17/26
+ */
+public final class ConfigFingerprint {
+  private static final AtomicInteger skipped = new AtomicInteger();
+  private static final AtomicInteger written = new AtomicInteger();
+
+  private ConfigFingerprint() {}
+
+  /**
+   * Computes the fingerprint of a configuration. The custom parameters, which hold the fingerprint
+   * itself, are left out of the hash.
+   *
+   * @param configuration the configuration
+   * @return the fingerprint, which is never 0 so that it cannot match a factory-default device
+   */
+  public static int compute(TalonFXConfiguration configuration) {
+    int param0 = configuration.CustomParams.CustomParam0;
+    int param1 = configuration.CustomParams.CustomParam1;
+    configuration.CustomParams.CustomParam0 = 0;
+    configuration.CustomParams.CustomParam1 = 0;
+    int hash = configuration.toString().hashCode();
+    configuration.CustomParams.CustomParam0 = param0;
+    configuration.CustomParams.CustomParam1 = param1;
+    return hash == 0 ? 1 : hash;
+  }
+
+  /**
+   * Writes a configuration to a motor unless the motor already holds it.
+   *
+   * @param motor the motor
+   * @param configuration the configuration; its custom parameters are overwritten with the
+   *     fingerprint
+   * @param timeoutSeconds the time to wait for each exchange with the device
+   * @return OK if the configuration was skipped; otherwise, the status of the apply
+   */
+  public static StatusCode apply(
+      TalonFX motor, TalonFXConfiguration configuration, double timeoutSeconds) {
+    int fingerprint = compute(configuration);
+    if (isCurrent(motor, fingerprint, timeoutSeconds)) {
+      skipped.incrementAndGet();
+      return StatusCode.OK;
+    }
+    configuration.CustomParams.CustomParam0 = (short) (fingerprint >> 16);
+    configuration.CustomParams.CustomParam1 = (short) fingerprint;
+    written.incrementAndGet();
+    return motor.getConfigurator().apply(configuration, timeoutSeconds);
+  }
+
+  /**
+   * Determines whether a motor holds the configuration with a given fingerprint.
+   *
+   * @param motor the motor
+   * @param fingerprint the fingerprint of the intended configuration
+   * @param timeoutSeconds the time to wait for the device to respond
+   * @return true if the stored fingerprint matches; false if it differs or could not be read
+   */
+  public static boolean isCurrent(TalonFX motor, int fingerprint, double timeoutSeconds) {
+    CustomParamsConfigs stored = new CustomParamsConfigs();
+    if (!motor.getConfigurator().refresh(stored, timeoutSeconds).isOK()) {
+      return false;
+    }
+    int storedFingerprint =
+        ((stored.CustomParam0 & 0xFFFF) << 16) | (stored.CustomParam1 & 0xFFFF);
+    return storedFingerprint == fingerprint;
+  }
+
+  /** @return the number of configurations skipped because the device already held them */
+  public static int getSkippedCount() {
+    return skipped.get();
+  }
+
+  /** @return the number of configurations written to devices */
+  public static int getWrittenCount() {
+    return written.get();
+  }
+
+  /** Resets the skipped and written counts. */
+  public static void resetCounts() {
+    skipped.set(0);
+    written.set(0);
+  }
+}
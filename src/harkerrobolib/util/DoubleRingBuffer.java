@@ -0,0 +1,95 @@
+package harkerrobolib.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-capacity, single-producer/single-consumer queue of fixed-length records of doubles. All
+ * storage is allocated up front, so records can be handed from one thread to another without
+ * allocating or locking. Exactly one thread may call {@link #offer(double[])} and exactly one
+ * thread may call {@link #poll(double[])}.
+ *
+ * @since 10/17/26
+ */
+public class DoubleRingBuffer {
+  private final double[] data;
+  private final int recordLength;
+  private final int capacity;
+  private final int mask;
+
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Creates a new ring buffer.
+   *
+   * @param capacity the minimum number of records the buffer can hold; rounded up to a power of two
+   * @param recordLength the number of doubles in each record
+   */
+  public DoubleRingBuffer(int capacity, int recordLength) {
+    if (capacity < 1 || recordLength < 1) {
+      throw new IllegalArgumentException("Capacity and record length must be positive");
+    }
+    this.capacity = roundUp(capacity);
+    this.mask = this.capacity - 1;
+    this.recordLength = recordLength;
+    data = new double[this.capacity * recordLength];
+  }
+
+  private static int roundUp(int capacity) {
+    return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+  }
+
+  /**
+   * Copies a record into the buffer. Called only by the producer thread.
+   *
+   * @param record the record to copy; must hold at least {@link #getRecordLength()} values
+   * @return true if the record was queued; false if the buffer was full and it was dropped
+   */
+  public boolean offer(double[] record) {
+    long t = tail.get();
+    if (t - head.get() >= capacity) {
+      dropped.incrementAndGet();
+      return false;
+    }
+    System.arraycopy(record, 0, data, (int) (t & mask) * recordLength, recordLength);
+    tail.lazySet(t + 1);
+    return true;
+  }
+
+  /**
+   * Copies the oldest queued record out of the buffer. Called only by the consumer thread.
+   *
+   * @param into the array to copy into; must hold at least {@link #getRecordLength()} values
+   * @return true if a record was copied; false if the buffer was empty
+   */
+  public boolean poll(double[] into) {
+    long h = head.get();
+    if (h >= tail.get()) {
+      return false;
+    }
+    System.arraycopy(data, (int) (h & mask) * recordLength, into, 0, recordLength);
+    head.lazySet(h + 1);
+    return true;
+  }
+
+  /** @return the number of records currently queued */
+  public int size() {
+    return (int) (tail.get() - head.get());
+  }
+
+  /** @return the maximum number of records the buffer can hold */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** @return the number of doubles in each record */
+  public int getRecordLength() {
+    return recordLength;
+  }
+
+  /** @return the number of records dropped because the buffer was full */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+}
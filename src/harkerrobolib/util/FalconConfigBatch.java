@@ -0,0 +1,185 @@
+package harkerrobolib.util;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.hardware.TalonFX;
+import edu.wpi.first.wpilibj.DriverStation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds many Talon FX motors at once during robot initialization. Each motor's builder settings
+ * are composed into one complete {@link TalonFXConfiguration}, and the configurations are applied
+ * to several devices concurrently, so startup time no longer grows with one sequence of blocking
+ * round trips per motor. Motors that already hold their configuration are skipped; see {@link
+ * ConfigFingerprint}.
+ *
+ * <pre>
+ * FalconConfigBatch batch = new FalconConfigBatch(4);
+ * TalonFX left = batch.add(driveBuilder, 1, "canivore");
+ * TalonFX right = batch.add(driveBuilder.invert(InvertedValue.Clockwise_Positive), 2, "canivore");
+ * List&lt;FalconConfigBatch.Result&gt; report = batch.apply();
+ * </pre>
+ *
+ * @since 10/17/26
+ */
+public class FalconConfigBatch {
+  /** The default time to wait for each device to acknowledge its configuration, in seconds. */
+  public static final double DEFAULT_APPLY_TIMEOUT = 0.1;
+
+  /** The outcome of configuring one device. */
+  public static class Result {
+    private final int deviceID;
+    private final String canbus;
+    private final StatusCode status;
+    private final double elapsedSeconds;
+    private final Throwable error;
+
+    Result(
+        int deviceID, String canbus, StatusCode status, double elapsedSeconds, Throwable error) {
+      this.deviceID = deviceID;
+      this.canbus = canbus;
+      this.status = status;
+      this.elapsedSeconds = elapsedSeconds;
+      this.error = error;
+    }
+
+    /** @return the CAN device ID of the motor */
+    public int getDeviceID() {
+      return deviceID;
+    }
+
+    /** @return the name of the CAN bus the motor is on */
+    public String getCanbus() {
+      return canbus;
+    }
+
+    /** @return the status returned by the device */
+    public StatusCode getStatus() {
+      return status;
+    }
+
+    /** @return true if the device accepted its configuration; otherwise, false */
+    public boolean isOK() {
+      return status.isOK();
+    }
+
+    /** @return how long the device took to accept its configuration, in seconds */
+    public double getElapsedSeconds() {
+      return elapsedSeconds;
+    }
+
+    /** @return the exception thrown while configuring the device, or null if none was thrown */
+    public Throwable getError() {
+      return error;
+    }
+
+    @Override
+    public String toString() {
+      String result =
+          String.format("%s:%d %s (%.0f ms)", canbus, deviceID, status, elapsedSeconds * 1000);
+      return error != null ? result + ": " + error : result;
+    }
+  }
+
+  private final int parallelism;
+  private final double timeoutSeconds;
+  private final List<TalonFX> motors = new ArrayList<>();
+  private final List<HSFalconBuilder> builders = new ArrayList<>();
+  private final List<TalonFXConfiguration> configurations = new ArrayList<>();
+
+  /**
+   * Creates an empty batch.
+   *
+   * @param parallelism the maximum number of devices configured at the same time
+   * @param timeoutSeconds the time to wait for each device to acknowledge its configuration
+   */
+  public FalconConfigBatch(int parallelism, double timeoutSeconds) {
+    this.parallelism = Math.max(1, parallelism);
+    this.timeoutSeconds = timeoutSeconds;
+  }
+
+  /**
+   * Creates an empty batch with the default timeout of {@value #DEFAULT_APPLY_TIMEOUT} seconds.
+   *
+   * @param parallelism the maximum number of devices configured at the same time
+   */
+  public FalconConfigBatch(int parallelism) {
+    this(parallelism, DEFAULT_APPLY_TIMEOUT);
+  }
+
+  /**
+   * Adds a motor to the batch. The builder's current settings are captured immediately, so the
+   * same builder may be modified and reused for the next motor. The motor is not configured until
+   * {@link #apply()} is called.
+   *
+   * @param builder the settings for the motor
+   * @param deviceID the CAN device ID of the motor
+   * @param canbus the name of the CAN bus the motor is on
+   * @return the motor
+   */
+  public TalonFX add(HSFalconBuilder builder, int deviceID, String canbus) {
+    TalonFX motor = new TalonFX(deviceID, canbus);
+    motors.add(motor);
+    builders.add(builder.copy());
+    configurations.add(builder.buildConfiguration());
+    return motor;
+  }
+
+  /**
+   * Configures every motor in the batch, waiting until all of them have finished.
+   *
+   * @return one result per motor, in the order the motors were added
+   */
+  public List<Result> apply() {
+    if (motors.isEmpty()) {
+      return Collections.emptyList();
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, motors.size()));
+    try {
+      List<Future<Result>> pending = new ArrayList<>();
+      for (int i = 0; i < motors.size(); i++) {
+        TalonFX motor = motors.get(i);
+        TalonFXConfiguration configuration = configurations.get(i);
+        pending.add(executor.submit(() -> applyTo(motor, configuration)));
+      }
+      List<Result> results = new ArrayList<>();
+      for (int i = 0; i < pending.size(); i++) {
+        TalonFX motor = motors.get(i);
+        Result result;
+        try {
+          result = pending.get(i).get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          result = failure(motor, e);
+        } catch (ExecutionException e) {
+          result = failure(motor, e.getCause());
+          DriverStation.reportError(
+              "Failed to configure " + result.getCanbus() + ":" + result.getDeviceID(),
+              e.getCause().getStackTrace());
+        }
+        builders.get(i).finish(motor);
+        results.add(result);
+      }
+      return Collections.unmodifiableList(results);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static Result failure(TalonFX motor, Throwable error) {
+    return new Result(motor.getDeviceID(), motor.getNetwork(), StatusCode.GeneralError, 0, error);
+  }
+
+  private Result applyTo(TalonFX motor, TalonFXConfiguration configuration) {
+    long start = System.nanoTime();
+    StatusCode status = ConfigFingerprint.apply(motor, configuration, timeoutSeconds);
+    return new Result(
+        motor.getDeviceID(), motor.getNetwork(), status, (System.nanoTime() - start) * 1e-9, null);
+  }
+}
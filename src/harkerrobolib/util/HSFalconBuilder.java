@@ -3,13 +3,9 @@ package harkerrobolib.util;
 import com.ctre.phoenix6.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix6.motorcontrol.NeutralMode;
 import com.ctre.phoenix6.motorcontrol.StatorCurrentLimitConfiguration;
-import com.ctre.phoenix6.motorcontrol.StatusFrame;
-import com.ctre.phoenix6.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix6.motorcontrol.SupplyCurrentLimitConfiguration;
 import com.ctre.phoenix6.sensors.SensorVelocityMeasPeriod;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
-import com.ctre.phoenix6.configs.FeedbackConfigs;
-import com.ctre.phoenix6.configs.MotorOutputConfigs;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.configs.VoltageConfigs;
 import com.ctre.phoenix6.hardware.TalonFX;
@@ -21,6 +17,8 @@ import edu.wpi.first.wpilibj.motorcontrol.Talon;
 
 import harkerrobolib.wrappers.HSFalcon;
 import harkerrobolib.wrappers.HSMotorController;
+import harkerrobolib.wrappers.MotorSignalRegistry;
+import harkerrobolib.wrappers.MotorSignals;
 
 /*
  * Helps build Talon FX motors with default configs
@@ -30,8 +28,6 @@ import harkerrobolib.wrappers.HSMotorController;
  */
 public class HSFalconBuilder {
 
-  private MotorOutputConfigs motorConfigs;
-  private FeedbackConfigs config;
   private NeutralModeValue neutralMode;
   private InvertedValue invert;
   private SensorVelocityMeasPeriod velocityMeasPeriod = SensorVelocityMeasPeriod.Period_100Ms;
@@ -42,6 +38,7 @@ public class HSFalconBuilder {
   private CurrentLimitsConfigs stator;
   private CurrentLimitsConfigs supply;
   private double voltageComp = Constants.MAX_VOLTAGE;
+  private CanBusPlanner planner;
 
   public HSFalconBuilder neutralMode(NeutralModeValue neutralMode) {
     this.neutralMode = neutralMode;
@@ -64,6 +61,7 @@ public class HSFalconBuilder {
   }
 
   public HSFalconBuilder statorLimit(double peak, double sustained, double peakdur) {
+    stator = new CurrentLimitsConfigs();
     stator.StatorCurrentLimitEnable = true;
     stator.StatorCurrentLimit = peak;
     stator.SupplyCurrentThreshold = peakdur;
@@ -88,31 +86,91 @@ public class HSFalconBuilder {
     return this;
   }
 
+  /**
+   * Declares each built motor's status signals with a planner instead of setting their frequencies
+   * directly: position and velocity at the fast CAN frame period, and currents, voltages and
+   * temperature at the slow one. Call {@link CanBusPlanner#apply()} once every motor is built.
+   *
+   * @param planner the planner
+   * @return this builder
+   */
+  public HSFalconBuilder busPlanner(CanBusPlanner planner) {
+    this.planner = planner;
+    return this;
+  }
+
   public HSFalconBuilder velocityWindow(int window) {
     velocityWindow = window;
     return this;
   }
 
+  /** Creates a builder with the same settings, unaffected by later changes to this one. */
+  HSFalconBuilder copy() {
+    HSFalconBuilder copy = new HSFalconBuilder();
+    copy.neutralMode = neutralMode;
+    copy.invert = invert;
+    copy.velocityMeasPeriod = velocityMeasPeriod;
+    copy.velocityWindow = velocityWindow;
+    copy.voltageFilter = voltageFilter;
+    copy.fastCANFrame = fastCANFrame;
+    copy.slowCANFrame = slowCANFrame;
+    copy.stator = stator;
+    copy.supply = supply;
+    copy.voltageComp = voltageComp;
+    copy.planner = planner;
+    return copy;
+  }
+
+  /**
+   * Composes every setting of this builder into one complete configuration, so that a motor can be
+   * configured with a single apply instead of one round trip per config group. Settings the builder
+   * does not cover are left at their factory defaults.
+   *
+   * @return the configuration
+   */
+  public TalonFXConfiguration buildConfiguration() {
+    TalonFXConfiguration configuration = new TalonFXConfiguration();
+    if (neutralMode != null) {
+      configuration.MotorOutput.NeutralMode = neutralMode;
+    }
+    if (invert != null) {
+      configuration.MotorOutput.Inverted = invert;
+    }
+    configuration.Feedback.FeedbackSensorSource = FeedbackSensorSourceValue.RotorSensor;
+    if (stator != null) {
+      configuration.CurrentLimits = stator;
+    } else if (supply != null) {
+      configuration.CurrentLimits = supply;
+    }
+    return configuration;
+  }
+
   public TalonFX build(int deviceID, String canbus) {
     TalonFX falcon = new TalonFX(deviceID, canbus);
-    falcon.getConfigurator().apply(new TalonFXConfiguration());
-    motorConfigs.NeutralMode = neutralMode;
-    motorConfigs.Inverted = invert;
-    falcon.getConfigurator().apply(motorConfigs);
-    config.FeedbackSensorSource = FeedbackSensorSourceValue.RotorSensor;
-    falcon.getConfigurator().apply(config, 1);
-    //falcon.configVelocityMeasurementWindow(velocityWindow);
-    //falcon.configVoltageMeasurementFilter(voltageFilter);
-    if (stator != null){
-      falcon.getConfigurator().apply(stator);
-    }
-    if (supply != null){
-      falcon.getConfigurator().apply(supply);
+    ConfigFingerprint.apply(falcon, buildConfiguration(), FalconConfigBatch.DEFAULT_APPLY_TIMEOUT);
+    finish(falcon);
+    return falcon;
+  }
+
+  /** Applies the settings that are not part of the device configuration. */
+  void finish(TalonFX falcon) {
+    if (planner != null) {
+      double fast = 1000.0 / fastCANFrame;
+      double slow = 1000.0 / slowCANFrame;
+      planner
+          .request(falcon, falcon.getPosition(), fast)
+          .request(falcon, falcon.getVelocity(), fast)
+          .request(falcon, falcon.getStatorCurrent(), slow)
+          .request(falcon, falcon.getSupplyCurrent(), slow)
+          .request(falcon, falcon.getMotorVoltage(), slow)
+          .request(falcon, falcon.getSupplyVoltage(), slow)
+          .request(falcon, falcon.getDeviceTemp(), slow);
+    } else {
+      falcon.getPosition().setUpdateFrequency(Constants.MAX_CAN_FRAME_PERIOD);
     }
-    falcon.getPosition().setUpdateFrequency(Constants.MAX_CAN_FRAME_PERIOD);
-    //falcon.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, fastCANFrame);
-    //falcon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, slowCANFrame);
     //falcon.selectProfileSlot(Constants.SLOT_INDEX, Constants.PID_PRIMARY); seems to be selected when calling motion magic 
-    return falcon;
+    MotorSignals signals = MotorSignalRegistry.register(falcon);
+    signals.setVelocityFilter(SignalFilter.movingAverage(velocityWindow));
+    signals.setVoltageFilter(SignalFilter.movingAverage(voltageFilter));
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package harkerrobolib.util;
+
+import java.util.Arrays;
+
+/**
+ * Counts latency samples in fixed-width bins, so that distributions can be recorded for the life
+ * of the robot program without storing every sample or allocating.
+ *
+ * @since 10/17/26
+ */
+public class LatencyHistogram {
+  private final long[] counts;
+  private final double binWidth;
+  private long total;
+  private double sum;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Creates an empty histogram. Samples beyond the last bin are counted in the last bin.
+   *
+   * @param binWidth the width of each bin
+   * @param binCount the number of bins
+   */
+  public LatencyHistogram(double binWidth, int binCount) {
+    this.binWidth = binWidth;
+    counts = new long[binCount];
+  }
+
+  /**
+   * Records a sample.
+   *
+   * @param value the sample, in the same units as the bin width
+   */
+  public synchronized void record(double value) {
+    int bin = (int) (Math.max(0, value) / binWidth);
+    counts[Math.min(bin, counts.length - 1)]++;
+    total++;
+    sum += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  /** @return the number of samples recorded */
+  public synchronized long getCount() {
+    return total;
+  }
+
+  /** @return the mean of the samples, or 0 if none were recorded */
+  public synchronized double getMean() {
+    return total == 0 ? 0 : sum / total;
+  }
+
+  /** @return the smallest sample, or 0 if none were recorded */
+  public synchronized double getMin() {
+    return total == 0 ? 0 : min;
+  }
+
+  /** @return the largest sample, or 0 if none were recorded */
+  public synchronized double getMax() {
+    return total == 0 ? 0 : max;
+  }
+
+  /**
+   * Estimates a percentile of the samples as the upper edge of the bin it falls in.
+   *
+   * @param percentile the percentile, in [0, 100]
+   * @return the estimated value, or 0 if no samples were recorded
+   */
+  public synchronized double getPercentile(double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    long target = (long) Math.ceil(total * percentile / 100.0);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= target) {
+        return Math.min((i + 1) * binWidth, max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * @param bin the bin index
+   * @return the number of samples in the bin
+   */
+  public synchronized long getBinCount(int bin) {
+    return counts[bin];
+  }
+
+  /** @return the number of bins */
+  public int getBinTotal() {
+    return counts.length;
+  }
+
+  /** Removes every sample. */
+  public synchronized void reset() {
+    Arrays.fill(counts, 0);
+    total = 0;
+    sum = 0;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+  }
+}
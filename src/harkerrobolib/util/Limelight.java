@@ -6,6 +6,10 @@ import edu.wpi.first.networktables.NetworkTableInstance;
 /**
  * Wraps Limelight functionality into a class.
  *
+ * <p>The static methods read the camera publishing to the {@value #LIMELIGHT_TABLE_KEY} table
+ * through a default {@link LimelightCamera}. Robots with more than one camera should construct a
+ * {@link LimelightCamera} per camera instead.
+ *
  * @author Finn Frankis
  * @author Chirag Kaushik
  * @since 01/20/20
@@ -21,6 +25,7 @@ public class Limelight {
   public static final String TA_KEY = "ta";
   public static final String TS_KEY = "ts";
   public static final String TL_KEY = "tl";
+  public static final String CL_KEY = "cl";
   public static final String TSHORT_KEY = "tshort";
   public static final String TLONG_KEY = "tlong";
   public static final String THOR_KEY = "thor";
@@ -31,7 +36,10 @@ public class Limelight {
   public static final String CORNERY_KEY = "tcorny";
   public static final String CAMTRAN_KEY = "camtran";
   public static final String PIPELINE_KEY = "pipeline";
+  public static final String GETPIPE_KEY = "getpipe";
   public static final String LED_MODE = "ledMode";
+  public static final String HEARTBEAT_KEY = "hb";
+  public static final String JSON_KEY = "json";
 
   public static final int LED_PIPELINE = 0;
   public static final int LED_OFF = 1;
@@ -44,12 +52,105 @@ public class Limelight {
   public static final int NO_SNAPSHOT = 0;
   public static final int SNAPSHOT = 1;
 
-  private static double[] nullArr;
+  /** The number of raw contours (tx0, tx1, ...) the Limelight publishes. */
+  public static final int MAX_RAW_CONTOURS = 3;
+
+  /** The default number of frames buffered between loops when ingesting on frame events. */
+  public static final int DEFAULT_INGESTION_CAPACITY = 16;
+
+  private static final LimelightCamera camera =
+      new LimelightCamera(table.getInstance(), LIMELIGHT_TABLE_KEY);
 
   /** Setup Limelight with default settings */
   private Limelight() {
-    table.getEntry(MODE_KEY).setNumber(VISION_MODE);
-    table.getEntry(SNAP_KEY).setNumber(NO_SNAPSHOT);
+    camera.setCamModeVision();
+    camera.setSnapshot(false);
+  }
+
+  /**
+   * Returns the camera the static methods of this class read from.
+   *
+   * @return the default camera
+   */
+  public static LimelightCamera getDefault() {
+    return camera;
+  }
+
+  /**
+   * Reads the latest camera frame into the frame returned by {@link #getFrame()} if the camera has
+   * published a new one since the last call. This should be called once per loop, before any
+   * consumer reads the frame.
+   *
+   * @return true if a new frame was read; otherwise, false
+   */
+  public static boolean update() {
+    return camera.update();
+  }
+
+  /**
+   * Determines whether the last call to {@link #update()} read a frame the camera had not
+   * previously published. Consumers can use this to skip recomputation between camera frames.
+   *
+   * @return true if the current frame is new this loop; otherwise, false
+   */
+  public static boolean hasNewFrame() {
+    return camera.hasNewFrame();
+  }
+
+  /**
+   * Returns the frame read by the last call to {@link #update()}. The same instance is returned on
+   * every call and is overwritten in place whenever a new frame is read.
+   *
+   * @return the current frame
+   */
+  public static LimelightFrame getFrame() {
+    return camera.getFrame();
+  }
+
+  /**
+   * Starts copying every frame the camera publishes into a ring buffer as soon as it arrives,
+   * instead of waiting for the robot loop to poll. Frames are drained with {@link
+   * #pollFrame(LimelightFrame)}. Calling this while ingestion is running has no effect.
+   *
+   * @param capacity the number of frames to buffer between loops
+   */
+  public static void startIngestion(int capacity) {
+    camera.startIngestion(capacity);
+  }
+
+  /**
+   * Starts ingesting frames with a buffer of {@link #DEFAULT_INGESTION_CAPACITY} frames.
+   *
+   * @see #startIngestion(int)
+   */
+  public static void startIngestion() {
+    camera.startIngestion();
+  }
+
+  /** Stops ingesting frames. Frames still buffered are discarded. */
+  public static void stopIngestion() {
+    camera.stopIngestion();
+  }
+
+  /**
+   * Copies the oldest frame ingested since the last call into a frame. Call this in a loop each
+   * robot cycle to process every frame the camera published since the previous cycle.
+   *
+   * @param into the frame to copy into
+   * @return true if a frame was copied; false if no frames are buffered or ingestion is stopped
+   */
+  public static boolean pollFrame(LimelightFrame into) {
+    return camera.pollFrame(into);
+  }
+
+  /**
+   * Returns the number of frames dropped because the robot loop did not drain the ingestion buffer
+   * quickly enough.
+   *
+   * @return the number of dropped frames
+   */
+  public static long getDroppedFrameCount() {
+    return camera.getDroppedFrameCount();
   }
 
   /**
@@ -58,7 +159,7 @@ public class Limelight {
    * @return true if a target is visible; otherwise, false
    */
   public static boolean isTargetVisible() {
-    return Math.abs(table.getEntry(TV_KEY).getDouble(0.0) - 1.0) < 1e-5;
+    return camera.isTargetVisible();
   }
 
   /**
@@ -68,34 +169,30 @@ public class Limelight {
    * @return the horizontal angular distance to the target, in degrees
    */
   public static double getTx() {
-    return table.getEntry(TX_KEY).getDouble(0.0);
+    return camera.getTx();
   }
 
   /** Toggles the limelight between driver and vision mode. */
   public static void toggleCamMode() {
-    if (table.getEntry(MODE_KEY).getDouble(0) == VISION_MODE)
-      table.getEntry(MODE_KEY).setNumber(DRIVER_MODE);
-    else table.getEntry(MODE_KEY).setNumber(VISION_MODE);
+    camera.toggleCamMode();
   }
 
   /** Toggles the limelight LEDs on or off. */
   public static void toggleLEDs() {
-    if (table.getEntry(LED_MODE).getNumber(0).intValue() == LED_ON)
-      table.getEntry(LED_MODE).setNumber(LED_OFF);
-    else table.getEntry(LED_MODE).setNumber(LED_ON);
+    camera.toggleLEDs();
   }
 
   /** Sets the LEDS to be on or off */
   public static void setLEDS(boolean on) {
-    table.getEntry(LED_MODE).setNumber(on ? LED_ON : LED_OFF);
+    camera.setLEDS(on);
   }
 
   public static void setCamModeDriver() {
-    table.getEntry(MODE_KEY).setNumber(DRIVER_MODE);
+    camera.setCamModeDriver();
   }
 
   public static void setCamModeVision() {
-    table.getEntry(MODE_KEY).setNumber(VISION_MODE);
+    camera.setCamModeVision();
   }
 
   /**
@@ -105,7 +202,7 @@ public class Limelight {
    * @return the vertical, angular distance to the target, in degrees
    */
   public static double getTy() {
-    return table.getEntry(TY_KEY).getDouble(0.0);
+    return camera.getTy();
   }
 
   /**
@@ -114,7 +211,7 @@ public class Limelight {
    * @return the angular skew, in degrees [-90, 0]
    */
   public static double getTs() {
-    return table.getEntry(TS_KEY).getDouble(0.0);
+    return camera.getTs();
   }
 
   /**
@@ -123,7 +220,7 @@ public class Limelight {
    * @return the area, as a percent of the total screen
    */
   public static double getTa() {
-    return table.getEntry(TA_KEY).getDouble(0.0);
+    return camera.getTa();
   }
 
   /**
@@ -132,7 +229,17 @@ public class Limelight {
    * @return the latency, in milliseconds
    */
   public static double getTl() {
-    return table.getEntry(TL_KEY).getDouble(0.0);
+    return camera.getTl();
+  }
+
+  /**
+   * Determines the time between the end of the exposure of the middle row of the sensor and the
+   * start of the pipeline.
+   *
+   * @return the capture latency, in milliseconds
+   */
+  public static double getCl() {
+    return camera.getCl();
   }
 
   /**
@@ -143,7 +250,7 @@ public class Limelight {
    * @return the shortest sidelength, in pixels
    */
   public static double getTshort() {
-    return table.getEntry(TSHORT_KEY).getDouble(0.0);
+    return camera.getTshort();
   }
 
   /**
@@ -154,7 +261,7 @@ public class Limelight {
    * @return the longest sidelength, in pixels
    */
   public static double getTlong() {
-    return table.getEntry(TLONG_KEY).getDouble(0.0);
+    return camera.getTlong();
   }
 
   /**
@@ -165,7 +272,7 @@ public class Limelight {
    * @return the horizontal sidelength, in pixels [0, 320]
    */
   public static double getThor() {
-    return table.getEntry(THOR_KEY).getDouble(0.0);
+    return camera.getThor();
   }
 
   /**
@@ -176,7 +283,7 @@ public class Limelight {
    * @return the vertical sidelength, in pixels [0, 240]
    */
   public static double getTvert() {
-    return table.getEntry(TVERT_KEY).getDouble(0.0);
+    return camera.getTvert();
   }
 
   /**
@@ -187,7 +294,31 @@ public class Limelight {
    *     target.
    */
   public static double[] getCamtranData() {
-    return table.getEntry(CAMTRAN_KEY).getDoubleArray(nullArr);
+    return camera.getCamtranData();
+  }
+
+  /**
+   * Copies the latest camtran values into a caller-owned buffer. A new array is allocated only when
+   * the camera has published a new camtran value since the last read.
+   *
+   * @param into the buffer to fill, in the order (x, y, z, pitch, yaw, roll)
+   * @return true if the camera published a complete camtran array; otherwise, false, in which case
+   *     every value is set to 0
+   */
+  public static boolean readCamtran(double[] into) {
+    return camera.readCamtran(into);
+  }
+
+  /**
+   * Fills a caller-owned pose with the latest camtran values. A new array is allocated only when
+   * the camera has published a new camtran value since the last read.
+   *
+   * @param into the pose to fill
+   * @return true if the camera published a complete camtran array; otherwise, false, in which case
+   *     every value is set to 0
+   */
+  public static boolean readCamtran(CamtranPose into) {
+    return camera.readCamtran(into);
   }
 
   /**
@@ -196,7 +327,7 @@ public class Limelight {
    * @return The camera's horizontal distance from the target.
    */
   public static double getCamtranX() {
-    return getCamtranData()[0];
+    return camera.getCamtranX();
   }
 
   /**
@@ -205,7 +336,7 @@ public class Limelight {
    * @return The camera's height relative to the target's height (automatically 0).
    */
   public static double getCamtranY() {
-    return getCamtranData()[1];
+    return camera.getCamtranY();
   }
 
   /**
@@ -214,7 +345,7 @@ public class Limelight {
    * @return The camera's vertical distance from the target.
    */
   public static double getCamtranZ() {
-    return getCamtranData()[2];
+    return camera.getCamtranZ();
   }
 
   /**
@@ -223,7 +354,7 @@ public class Limelight {
    * @return The camera's pitch relative to the target (automatically 0).
    */
   public static double getCamtranPitch() {
-    return getCamtranData()[3];
+    return camera.getCamtranPitch();
   }
 
   /**
@@ -232,7 +363,7 @@ public class Limelight {
    * @return The camera's pitch relative to the target (automatically 0).
    */
   public static double getCamtranYaw() {
-    return getCamtranData()[4];
+    return camera.getCamtranYaw();
   }
 
   /**
@@ -241,42 +372,70 @@ public class Limelight {
    * @return The camera's pitch relative to the target (automatically 0).
    */
   public static double getCamtranRoll() {
-    return getCamtranData()[5];
+    return camera.getCamtranRoll();
   }
 
   public static double getRawContourTx(int contourId) {
-    return table.getEntry(TX_KEY + contourId).getDouble(0.0);
+    return camera.getRawContourTx(contourId);
   }
 
   public static double getRawContourTy(int contourId) {
-    return table.getEntry(TY_KEY + contourId).getDouble(0.0);
+    return camera.getRawContourTy(contourId);
   }
 
   public static double getRawContourTa(int contourId) {
-    return table.getEntry(TA_KEY + contourId).getDouble(0.0);
+    return camera.getRawContourTa(contourId);
   }
 
   public static double getRawContourTs(int contourId) {
-    return table.getEntry(TS_KEY + contourId).getDouble(0.0);
+    return camera.getRawContourTs(contourId);
   }
 
   public static double[] getCornersX() {
-    return table.getEntry(CORNERX_KEY).getDoubleArray(nullArr);
+    return camera.getCornersX();
   }
 
   public static double[] getCornersY() {
-    return table.getEntry(CORNERY_KEY).getDoubleArray(nullArr);
+    return camera.getCornersY();
+  }
+
+  /**
+   * Reads every raw contour in one pass.
+   *
+   * @return the contours, overwritten on the next call
+   */
+  public static LimelightContours readContours() {
+    return camera.readContours();
+  }
+
+  /**
+   * Returns the contents of the Limelight's JSON results dump, used by AprilTag and multi-target
+   * pipelines.
+   *
+   * @return the results, overwritten in place when a new dump is parsed
+   */
+  public static LimelightResults getResults() {
+    return camera.getResults();
   }
 
   public static double getLeftArea() {
-    return getRawContourTx(0) < getRawContourTx(1) ? getRawContourTa(0) : getRawContourTa(1);
+    return camera.getLeftArea();
   }
 
   public static double getRightArea() {
-    return getRawContourTx(0) > getRawContourTx(1) ? getRawContourTa(0) : getRawContourTa(1);
+    return camera.getRightArea();
   }
 
   public static void setPipeline(int pipeline) {
-    table.getEntry(PIPELINE_KEY).setNumber(pipeline);
+    camera.setPipeline(pipeline);
+  }
+
+  /**
+   * Determines whether the Limelight reports that the last requested pipeline is active.
+   *
+   * @return true if the requested pipeline is active; otherwise, false
+   */
+  public static boolean isPipelineConfirmed() {
+    return camera.isPipelineConfirmed();
   }
 }
@@ -0,0 +1,632 @@
+package harkerrobolib.util;
+
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+import edu.wpi.first.networktables.DoubleEntry;
+import edu.wpi.first.networktables.DoubleSubscriber;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringSubscriber;
+import edu.wpi.first.wpilibj.Timer;
+import java.util.EnumSet;
+
+/**
+ * Reads a single Limelight, identified by the name of the NetworkTables table it publishes to.
+ * Each camera resolves its topics into typed subscribers and publishers once on construction and
+ * owns its own frame snapshot, so several cameras can be read in one loop without repeated
+ * lookups. {@link Limelight} exposes the same functionality statically for the default camera.
+ *
+ * @since 10/17/26
+ */
+public class LimelightCamera {
+  /** The number of times a frame read is retried if the camera publishes partway through it. */
+  private static final int MAX_FRAME_READ_ATTEMPTS = 3;
+
+  private static final double[] EMPTY_ARRAY = new double[0];
+
+  /** The width of each pipeline switch latency bin, in milliseconds. */
+  private static final double SWITCH_LATENCY_BIN_WIDTH = 10;
+  /** The number of pipeline switch latency bins; switches slower than this share the last bin. */
+  private static final int SWITCH_LATENCY_BINS = 50;
+
+  private final NetworkTable table;
+
+  private final DoubleSubscriber tv;
+  private final DoubleSubscriber tx;
+  private final DoubleSubscriber ty;
+  private final DoubleSubscriber ta;
+  private final DoubleSubscriber ts;
+  private final DoubleSubscriber tl;
+  private final DoubleSubscriber cl;
+  private final DoubleSubscriber tshort;
+  private final DoubleSubscriber tlong;
+  private final DoubleSubscriber thor;
+  private final DoubleSubscriber tvert;
+  private final DoubleSubscriber heartbeat;
+  private final DoubleSubscriber activePipeline;
+  private final DoubleArraySubscriber cornersX;
+  private final DoubleArraySubscriber cornersY;
+  private final DoubleArraySubscriber camtran;
+  private final StringSubscriber json;
+
+  private final DoubleSubscriber[] rawTx;
+  private final DoubleSubscriber[] rawTy;
+  private final DoubleSubscriber[] rawTa;
+  private final DoubleSubscriber[] rawTs;
+
+  private final DoubleEntry camMode;
+  private final DoubleEntry ledMode;
+  private final DoubleEntry pipeline;
+  private final DoubleEntry snapshot;
+
+  private final double[] camtranCache = new double[LimelightFrame.CAMTRAN_LENGTH];
+  private long camtranCacheChange = -1;
+  private boolean camtranCacheValid;
+
+  private final LimelightContours contours = new LimelightContours();
+
+  private final LatencyHistogram switchLatency =
+      new LatencyHistogram(SWITCH_LATENCY_BIN_WIDTH, SWITCH_LATENCY_BINS);
+  private int requestedPipeline = -1;
+  private double switchRequestTime;
+  private boolean switchPending;
+
+  private final LimelightResults results = new LimelightResults();
+  private final LimelightResultsParser resultsParser = new LimelightResultsParser();
+  private long resultsChange = -1;
+
+  private final LimelightFrame frame = new LimelightFrame();
+  private long lastFrameChange = -1;
+  private boolean newFrame;
+
+  private volatile DoubleRingBuffer ingestionBuffer;
+  private final LimelightFrame ingestionFrame = new LimelightFrame();
+  private final double[] ingestionRecord = new double[LimelightFrame.RECORD_LENGTH];
+  private final double[] pollRecord = new double[LimelightFrame.RECORD_LENGTH];
+  private long ingestionLastChange = -1;
+  private int heartbeatListener;
+
+  /**
+   * Creates a camera reading from a table on the default NetworkTables instance.
+   *
+   * @param tableName the name of the camera's table, such as "limelight-front"
+   */
+  public LimelightCamera(String tableName) {
+    this(NetworkTableInstance.getDefault(), tableName);
+  }
+
+  /**
+   * Creates a camera reading from a table on a given NetworkTables instance.
+   *
+   * @param instance the instance the camera publishes to
+   * @param tableName the name of the camera's table, such as "limelight-front"
+   */
+  public LimelightCamera(NetworkTableInstance instance, String tableName) {
+    table = instance.getTable(tableName);
+    tv = subscribe(Limelight.TV_KEY);
+    tx = subscribe(Limelight.TX_KEY);
+    ty = subscribe(Limelight.TY_KEY);
+    ta = subscribe(Limelight.TA_KEY);
+    ts = subscribe(Limelight.TS_KEY);
+    tl = subscribe(Limelight.TL_KEY);
+    cl = subscribe(Limelight.CL_KEY);
+    tshort = subscribe(Limelight.TSHORT_KEY);
+    tlong = subscribe(Limelight.TLONG_KEY);
+    thor = subscribe(Limelight.THOR_KEY);
+    tvert = subscribe(Limelight.TVERT_KEY);
+    heartbeat = subscribe(Limelight.HEARTBEAT_KEY);
+    activePipeline = table.getDoubleTopic(Limelight.GETPIPE_KEY).subscribe(-1);
+    cornersX = table.getDoubleArrayTopic(Limelight.CORNERX_KEY).subscribe(EMPTY_ARRAY);
+    cornersY = table.getDoubleArrayTopic(Limelight.CORNERY_KEY).subscribe(EMPTY_ARRAY);
+    camtran = table.getDoubleArrayTopic(Limelight.CAMTRAN_KEY).subscribe(EMPTY_ARRAY);
+    json = table.getStringTopic(Limelight.JSON_KEY).subscribe("");
+    rawTx = subscribeRaw(Limelight.TX_KEY);
+    rawTy = subscribeRaw(Limelight.TY_KEY);
+    rawTa = subscribeRaw(Limelight.TA_KEY);
+    rawTs = subscribeRaw(Limelight.TS_KEY);
+    camMode = table.getDoubleTopic(Limelight.MODE_KEY).getEntry(Limelight.VISION_MODE);
+    ledMode = table.getDoubleTopic(Limelight.LED_MODE).getEntry(Limelight.LED_PIPELINE);
+    pipeline = table.getDoubleTopic(Limelight.PIPELINE_KEY).getEntry(0);
+    snapshot = table.getDoubleTopic(Limelight.SNAP_KEY).getEntry(Limelight.NO_SNAPSHOT);
+  }
+
+  private DoubleSubscriber subscribe(String key) {
+    return table.getDoubleTopic(key).subscribe(0.0);
+  }
+
+  /**
+   * Resolves the raw contour topics (key0, key1, ...) for a given key.
+   *
+   * @param key the base key of the raw contour value
+   * @return one subscriber per raw contour, indexed by contour id
+   */
+  private DoubleSubscriber[] subscribeRaw(String key) {
+    DoubleSubscriber[] subscribers = new DoubleSubscriber[Limelight.MAX_RAW_CONTOURS];
+    for (int i = 0; i < Limelight.MAX_RAW_CONTOURS; i++) {
+      subscribers[i] = subscribe(key + i);
+    }
+    return subscribers;
+  }
+
+  /**
+   * Reads a raw contour value, falling back to a table lookup for contour ids that were not
+   * resolved up front.
+   */
+  private double getRaw(DoubleSubscriber[] subscribers, String key, int contourId) {
+    if (contourId >= 0 && contourId < Limelight.MAX_RAW_CONTOURS) {
+      return subscribers[contourId].get();
+    }
+    return table.getEntry(key + contourId).getDouble(0.0);
+  }
+
+  /** @return the table this camera publishes to */
+  public NetworkTable getTable() {
+    return table;
+  }
+
+  /**
+   * Reads the latest camera frame into the frame returned by {@link #getFrame()} if the camera has
+   * published a new one since the last call. This should be called once per loop, before any
+   * consumer reads the frame. Loops without a new frame allocate nothing; reading a new frame
+   * allocates the copies NetworkTables returns for the corner and camtran arrays.
+   *
+   * @return true if a new frame was read; otherwise, false
+   */
+  public boolean update() {
+    isPipelineConfirmed();
+    long change = getLastFrameChange();
+    newFrame = change != lastFrameChange;
+    if (!newFrame) {
+      return false;
+    }
+    for (int attempt = 0; attempt < MAX_FRAME_READ_ATTEMPTS; attempt++) {
+      readFrame(frame);
+      long after = getLastFrameChange();
+      if (after == change) {
+        break;
+      }
+      change = after;
+    }
+    lastFrameChange = change;
+    return true;
+  }
+
+  /**
+   * Determines whether the last call to {@link #update()} read a frame the camera had not
+   * previously published. Consumers can use this to skip recomputation between camera frames.
+   *
+   * @return true if the current frame is new this loop; otherwise, false
+   */
+  public boolean hasNewFrame() {
+    return newFrame;
+  }
+
+  /**
+   * Returns the frame read by the last call to {@link #update()}. The same instance is returned on
+   * every call and is overwritten in place whenever a new frame is read.
+   *
+   * @return the current frame
+   */
+  public LimelightFrame getFrame() {
+    return frame;
+  }
+
+  /**
+   * Starts copying every frame the camera publishes into a ring buffer as soon as it arrives,
+   * instead of waiting for the robot loop to poll. Frames are drained with {@link
+   * #pollFrame(LimelightFrame)}. A frame is ingested when its heartbeat arrives, so the camera
+   * must publish one. Calling this while ingestion is running has no effect.
+   *
+   * @param capacity the number of frames to buffer between loops
+   */
+  public synchronized void startIngestion(int capacity) {
+    if (ingestionBuffer != null) {
+      return;
+    }
+    ingestionLastChange = -1;
+    ingestionBuffer = new DoubleRingBuffer(capacity, LimelightFrame.RECORD_LENGTH);
+    NetworkTableInstance instance = table.getInstance();
+    EnumSet<NetworkTableEvent.Kind> kinds = EnumSet.of(NetworkTableEvent.Kind.kValueAll);
+    heartbeatListener = instance.addListener(heartbeat, kinds, event -> ingestFrame());
+  }
+
+  /**
+   * Starts ingesting frames with a buffer of {@link Limelight#DEFAULT_INGESTION_CAPACITY} frames.
+   *
+   * @see #startIngestion(int)
+   */
+  public void startIngestion() {
+    startIngestion(Limelight.DEFAULT_INGESTION_CAPACITY);
+  }
+
+  /** Stops ingesting frames. Frames still buffered are discarded. */
+  public synchronized void stopIngestion() {
+    if (ingestionBuffer == null) {
+      return;
+    }
+    NetworkTableInstance instance = table.getInstance();
+    instance.removeListener(heartbeatListener);
+    ingestionBuffer = null;
+  }
+
+  /**
+   * Copies the oldest frame ingested since the last call into a frame. Call this in a loop each
+   * robot cycle to process every frame the camera published since the previous cycle.
+   *
+   * @param into the frame to copy into
+   * @return true if a frame was copied; false if no frames are buffered or ingestion is stopped
+   */
+  public boolean pollFrame(LimelightFrame into) {
+    DoubleRingBuffer buffer = ingestionBuffer;
+    if (buffer == null || !buffer.poll(pollRecord)) {
+      return false;
+    }
+    into.readFrom(pollRecord);
+    return true;
+  }
+
+  /**
+   * Returns the number of frames dropped because the robot loop did not drain the ingestion buffer
+   * quickly enough.
+   *
+   * @return the number of dropped frames
+   */
+  public long getDroppedFrameCount() {
+    DoubleRingBuffer buffer = ingestionBuffer;
+    return buffer == null ? 0 : buffer.getDroppedCount();
+  }
+
+  /**
+   * Reads and buffers the latest frame. Runs on the NetworkTables listener thread, which is the
+   * only producer for the ingestion buffer. It is triggered only by the heartbeat, which the
+   * camera publishes last in each frame, so each frame is buffered once.
+   */
+  private void ingestFrame() {
+    DoubleRingBuffer buffer = ingestionBuffer;
+    long change = heartbeat.getLastChange();
+    if (buffer == null || change == ingestionLastChange) {
+      return;
+    }
+    ingestionLastChange = change;
+    readFrame(ingestionFrame);
+    ingestionFrame.writeTo(ingestionRecord);
+    buffer.offer(ingestionRecord);
+  }
+
+  /**
+   * Returns the most recent local time, in microseconds, at which the camera published a frame.
+   * The heartbeat is published last in each frame, so once the camera has published one its change
+   * time alone identifies the frame; the latency is only used for cameras without a heartbeat.
+   * Mixing the two would count a frame twice when its latency and heartbeat arrive separately.
+   */
+  private long getLastFrameChange() {
+    long heartbeatChange = heartbeat.getLastChange();
+    return heartbeatChange != 0 ? heartbeatChange : tl.getLastChange();
+  }
+
+  /**
+   * Reads every published value into a frame. The scalar values and the timestamp are read without
+   * allocating, but NetworkTables returns each array as a new copy.
+   */
+  private void readFrame(LimelightFrame into) {
+    into.targetVisible = isTargetVisible();
+    into.tx = tx.get();
+    into.ty = ty.get();
+    into.ta = ta.get();
+    into.ts = ts.get();
+    into.tl = tl.get();
+    into.cl = cl.get();
+    into.tshort = tshort.get();
+    into.tlong = tlong.get();
+    into.thor = thor.get();
+    into.tvert = tvert.get();
+    into.heartbeat = heartbeat.get();
+    into.timestamp = tl.getLastChange() * 1e-6;
+    int countX = LimelightFrame.copyCorners(cornersX.get(), into.cornersX);
+    int countY = LimelightFrame.copyCorners(cornersY.get(), into.cornersY);
+    into.cornerCount = Math.min(countX, countY);
+    into.setCamtran(camtran.get());
+  }
+
+  /**
+   * Determines whether a target has been latched onto.
+   *
+   * @return true if a target is visible; otherwise, false
+   */
+  public boolean isTargetVisible() {
+    return Math.abs(tv.get() - 1.0) < 1e-5;
+  }
+
+  /** @return the horizontal angular distance to the target, in degrees */
+  public double getTx() {
+    return tx.get();
+  }
+
+  /** @return the vertical angular distance to the target, in degrees */
+  public double getTy() {
+    return ty.get();
+  }
+
+  /** @return the angular skew, in degrees [-90, 0] */
+  public double getTs() {
+    return ts.get();
+  }
+
+  /** @return the area, as a percent of the total screen */
+  public double getTa() {
+    return ta.get();
+  }
+
+  /** @return the pipeline latency, in milliseconds */
+  public double getTl() {
+    return tl.get();
+  }
+
+  /** @return the capture latency, in milliseconds */
+  public double getCl() {
+    return cl.get();
+  }
+
+  /** @return the shortest sidelength of the fitted bounding box, in pixels */
+  public double getTshort() {
+    return tshort.get();
+  }
+
+  /** @return the longest sidelength of the fitted bounding box, in pixels */
+  public double getTlong() {
+    return tlong.get();
+  }
+
+  /** @return the horizontal sidelength of the rough bounding box, in pixels [0, 320] */
+  public double getThor() {
+    return thor.get();
+  }
+
+  /** @return the vertical sidelength of the rough bounding box, in pixels [0, 240] */
+  public double getTvert() {
+    return tvert.get();
+  }
+
+  /** @return the camtran values, in the order (x, y, z, pitch, yaw, roll) */
+  public double[] getCamtranData() {
+    return camtran.get();
+  }
+
+  /**
+   * Copies the latest camtran values into a caller-owned buffer. The camtran topic is only read
+   * from NetworkTables when the camera has published a new value, so calling this (or any of the
+   * camtran getters) several times per loop costs at most one read. That read allocates the copy
+   * NetworkTables returns; calls between new values allocate nothing.
+   *
+   * @param into the buffer to fill, in the order (x, y, z, pitch, yaw, roll); must hold at least
+   *     {@link LimelightFrame#CAMTRAN_LENGTH} values
+   * @return true if the camera published a complete camtran array; otherwise, false, in which case
+   *     every value is set to 0
+   */
+  public boolean readCamtran(double[] into) {
+    refreshCamtran();
+    System.arraycopy(camtranCache, 0, into, 0, LimelightFrame.CAMTRAN_LENGTH);
+    return camtranCacheValid;
+  }
+
+  /**
+   * Fills a caller-owned pose with the latest camtran values.
+   *
+   * @param into the pose to fill
+   * @return true if the camera published a complete camtran array; otherwise, false, in which case
+   *     every value is set to 0
+   * @see #readCamtran(double[])
+   */
+  public boolean readCamtran(CamtranPose into) {
+    refreshCamtran();
+    into.set(camtranCache, camtranCacheValid);
+    return camtranCacheValid;
+  }
+
+  /**
+   * Rereads the camtran topic into the cache if the camera has published since the last read. The
+   * read allocates a new array, so it is skipped while the published value is unchanged.
+   */
+  private void refreshCamtran() {
+    long change = camtran.getLastChange();
+    if (change == camtranCacheChange) {
+      return;
+    }
+    camtranCacheChange = change;
+    double[] values = camtran.get();
+    camtranCacheValid = values.length >= LimelightFrame.CAMTRAN_LENGTH;
+    for (int i = 0; i < LimelightFrame.CAMTRAN_LENGTH; i++) {
+      camtranCache[i] = camtranCacheValid ? values[i] : 0.0;
+    }
+  }
+
+  /** @return the camera's horizontal distance from the target, or 0 if unavailable */
+  public double getCamtranX() {
+    refreshCamtran();
+    return camtranCache[0];
+  }
+
+  /** @return the camera's height relative to the target's height, or 0 if unavailable */
+  public double getCamtranY() {
+    refreshCamtran();
+    return camtranCache[1];
+  }
+
+  /** @return the camera's vertical distance from the target, or 0 if unavailable */
+  public double getCamtranZ() {
+    refreshCamtran();
+    return camtranCache[2];
+  }
+
+  /** @return the camera's pitch relative to the target, or 0 if unavailable */
+  public double getCamtranPitch() {
+    refreshCamtran();
+    return camtranCache[3];
+  }
+
+  /** @return the camera's yaw relative to the target, or 0 if unavailable */
+  public double getCamtranYaw() {
+    refreshCamtran();
+    return camtranCache[4];
+  }
+
+  /** @return the camera's roll relative to the target, or 0 if unavailable */
+  public double getCamtranRoll() {
+    refreshCamtran();
+    return camtranCache[5];
+  }
+
+  public double[] getCornersX() {
+    return cornersX.get();
+  }
+
+  public double[] getCornersY() {
+    return cornersY.get();
+  }
+
+  public double getRawContourTx(int contourId) {
+    return getRaw(rawTx, Limelight.TX_KEY, contourId);
+  }
+
+  public double getRawContourTy(int contourId) {
+    return getRaw(rawTy, Limelight.TY_KEY, contourId);
+  }
+
+  public double getRawContourTa(int contourId) {
+    return getRaw(rawTa, Limelight.TA_KEY, contourId);
+  }
+
+  public double getRawContourTs(int contourId) {
+    return getRaw(rawTs, Limelight.TS_KEY, contourId);
+  }
+
+  /**
+   * Reads every raw contour into a reusable contour set owned by this camera.
+   *
+   * @return the contours, overwritten on the next call
+   */
+  public LimelightContours readContours() {
+    contours.read(this);
+    return contours;
+  }
+
+  /**
+   * Returns the contents of the camera's JSON results dump. The dump is only parsed when the camera
+   * has published a new one since the last call; reading a new dump allocates the string
+   * NetworkTables returns.
+   *
+   * @return the results, overwritten in place when a new dump is parsed
+   */
+  public LimelightResults getResults() {
+    long change = json.getLastChange();
+    if (change != resultsChange) {
+      resultsChange = change;
+      resultsParser.parse(json.get(), results);
+    }
+    return results;
+  }
+
+  /** @return how long the most recent results dump took to parse, in nanoseconds */
+  public long getResultsParseNanos() {
+    return resultsParser.getLastParseNanos();
+  }
+
+  public double getLeftArea() {
+    return getRawContourTx(0) < getRawContourTx(1) ? getRawContourTa(0) : getRawContourTa(1);
+  }
+
+  public double getRightArea() {
+    return getRawContourTx(0) > getRawContourTx(1) ? getRawContourTa(0) : getRawContourTa(1);
+  }
+
+  /** Toggles the limelight between driver and vision mode. */
+  public void toggleCamMode() {
+    camMode.set(
+        camMode.get() == Limelight.VISION_MODE ? Limelight.DRIVER_MODE : Limelight.VISION_MODE);
+  }
+
+  public void setCamModeDriver() {
+    camMode.set(Limelight.DRIVER_MODE);
+  }
+
+  public void setCamModeVision() {
+    camMode.set(Limelight.VISION_MODE);
+  }
+
+  /** Toggles the limelight LEDs on or off. */
+  public void toggleLEDs() {
+    ledMode.set((int) ledMode.get() == Limelight.LED_ON ? Limelight.LED_OFF : Limelight.LED_ON);
+  }
+
+  /** Sets the LEDS to be on or off */
+  public void setLEDS(boolean on) {
+    ledMode.set(on ? Limelight.LED_ON : Limelight.LED_OFF);
+  }
+
+  /** Sets whether the limelight should take snapshots. */
+  public void setSnapshot(boolean enabled) {
+    snapshot.set(enabled ? Limelight.SNAPSHOT : Limelight.NO_SNAPSHOT);
+  }
+
+  /**
+   * Requests a pipeline switch. The camera keeps publishing results from the old pipeline for a
+   * few frames afterward; use {@link #isPipelineConfirmed()} to know when its results are from the
+   * requested pipeline. Requesting the pipeline that is already pending or active does not start a
+   * new switch, so it can be called every loop without skewing {@link #getPipelineSwitchLatency()}.
+   * If the camera reports a different pipeline than the one requested, for example after it
+   * reboots, the switch is timed again from this call.
+   *
+   * @param pipeline the pipeline index
+   */
+  public void setPipeline(int pipeline) {
+    boolean changed = pipeline != requestedPipeline;
+    requestedPipeline = pipeline;
+    if (pipeline == getActivePipeline()) {
+      if (changed) {
+        switchPending = false;
+      }
+    } else if (changed || !switchPending) {
+      switchPending = true;
+      switchRequestTime = Timer.getFPGATimestamp();
+    }
+    this.pipeline.set(pipeline);
+  }
+
+  /**
+   * Determines whether the camera reports that the last requested pipeline is active. The active
+   * pipeline is read on every call, so a camera that has fallen back to another pipeline is not
+   * reported as confirmed. The first call that observes a pending switch records its latency in
+   * {@link #getPipelineSwitchLatency()}.
+   *
+   * @return true if the requested pipeline is active, or if no pipeline was requested; otherwise,
+   *     false
+   */
+  public boolean isPipelineConfirmed() {
+    if (requestedPipeline < 0) {
+      return true;
+    }
+    if (getActivePipeline() != requestedPipeline) {
+      return false;
+    }
+    if (switchPending) {
+      switchPending = false;
+      switchLatency.record((Timer.getFPGATimestamp() - switchRequestTime) * 1000);
+    }
+    return true;
+  }
+
+  /** @return the index of the pipeline the camera reports as active, or -1 if unknown */
+  public int getActivePipeline() {
+    return (int) activePipeline.get();
+  }
+
+  /**
+   * Returns the distribution of the time between requesting a pipeline switch and the camera
+   * reporting it, in milliseconds.
+   *
+   * @return the switch latency histogram
+   */
+  public LatencyHistogram getPipelineSwitchLatency() {
+    return switchLatency;
+  }
+}
@@ -0,0 +1,148 @@
+package harkerrobolib.util;
+
+/**
+ * Reads every raw contour a Limelight publishes (tx0..tx2, ty0..ty2, ...) in one pass into
+ * preallocated arrays, so logic comparing several targets reads each value once per loop instead
+ * of once per query. Contours can then be ranked by area or horizontal position without
+ * allocating.
+ *
+ * @since 10/17/26
+ */
+public class LimelightContours {
+  private final double[] tx = new double[Limelight.MAX_RAW_CONTOURS];
+  private final double[] ty = new double[Limelight.MAX_RAW_CONTOURS];
+  private final double[] ta = new double[Limelight.MAX_RAW_CONTOURS];
+  private final double[] ts = new double[Limelight.MAX_RAW_CONTOURS];
+  private final int[] order = new int[Limelight.MAX_RAW_CONTOURS];
+  private int count;
+
+  /**
+   * Reads every raw contour from a camera. Contours with no area are treated as absent. After
+   * reading, the contours are ranked in contour id order.
+   *
+   * @param camera the camera to read from
+   */
+  public void read(LimelightCamera camera) {
+    count = 0;
+    for (int i = 0; i < Limelight.MAX_RAW_CONTOURS; i++) {
+      tx[i] = camera.getRawContourTx(i);
+      ty[i] = camera.getRawContourTy(i);
+      ta[i] = camera.getRawContourTa(i);
+      ts[i] = camera.getRawContourTs(i);
+      if (ta[i] > 0) {
+        order[count++] = i;
+      }
+    }
+  }
+
+  /** Reads every raw contour from the default camera. */
+  public void read() {
+    read(Limelight.getDefault());
+  }
+
+  /** @return the number of contours with a nonzero area */
+  public int getCount() {
+    return count;
+  }
+
+  /** Ranks the present contours from largest to smallest area. */
+  public void sortByArea() {
+    for (int i = 1; i < count; i++) {
+      int id = order[i];
+      int j = i - 1;
+      while (j >= 0 && ta[order[j]] < ta[id]) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = id;
+    }
+  }
+
+  /** Ranks the present contours from leftmost to rightmost. */
+  public void sortByX() {
+    for (int i = 1; i < count; i++) {
+      int id = order[i];
+      int j = i - 1;
+      while (j >= 0 && tx[order[j]] > tx[id]) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = id;
+    }
+  }
+
+  /**
+   * Returns the contour id at a rank of the last sort.
+   *
+   * @param rank the rank, in [0, {@link #getCount()})
+   * @return the contour id
+   */
+  public int getRanked(int rank) {
+    return order[rank];
+  }
+
+  /** @return the id of the contour with the largest area, or -1 if none are present */
+  public int getLargest() {
+    int best = -1;
+    for (int i = 0; i < count; i++) {
+      if (best < 0 || ta[order[i]] > ta[best]) {
+        best = order[i];
+      }
+    }
+    return best;
+  }
+
+  /** @return the id of the leftmost contour, or -1 if none are present */
+  public int getLeftmost() {
+    int best = -1;
+    for (int i = 0; i < count; i++) {
+      if (best < 0 || tx[order[i]] < tx[best]) {
+        best = order[i];
+      }
+    }
+    return best;
+  }
+
+  /** @return the id of the rightmost contour, or -1 if none are present */
+  public int getRightmost() {
+    int best = -1;
+    for (int i = 0; i < count; i++) {
+      if (best < 0 || tx[order[i]] > tx[best]) {
+        best = order[i];
+      }
+    }
+    return best;
+  }
+
+  /**
+   * @param contourId the contour id
+   * @return the horizontal position of the contour, in normalized screen coordinates [-1, 1]
+   */
+  public double getTx(int contourId) {
+    return tx[contourId];
+  }
+
+  /**
+   * @param contourId the contour id
+   * @return the vertical position of the contour, in normalized screen coordinates [-1, 1]
+   */
+  public double getTy(int contourId) {
+    return ty[contourId];
+  }
+
+  /**
+   * @param contourId the contour id
+   * @return the area of the contour, as a percent of the total screen
+   */
+  public double getTa(int contourId) {
+    return ta[contourId];
+  }
+
+  /**
+   * @param contourId the contour id
+   * @return the skew of the contour, in degrees
+   */
+  public double getTs(int contourId) {
+    return ts[contourId];
+  }
+}
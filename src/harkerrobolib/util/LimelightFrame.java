@@ -0,0 +1,261 @@
+package harkerrobolib.util;
+
+/**
+ * Holds every value the Limelight publishes for a single camera frame. One frame is owned by each
+ * Limelight and is overwritten in place whenever a new camera frame is read, so consumers should
+ * copy anything they need to keep past the current loop.
+ *
+ * @since 10/17/26
+ */
+public class LimelightFrame {
+  /** The maximum number of corner coordinates (per axis) stored in a frame. */
+  public static final int MAX_CORNERS = 64;
+
+  /** The number of values in a camtran array (x, y, z, pitch, yaw, roll). */
+  public static final int CAMTRAN_LENGTH = 6;
+
+  private static final int SCALAR_FIELDS = 15;
+
+  /** The number of doubles needed to store a frame in a {@link DoubleRingBuffer}. */
+  public static final int RECORD_LENGTH = SCALAR_FIELDS + 2 * MAX_CORNERS + CAMTRAN_LENGTH;
+
+  boolean targetVisible;
+  double tx;
+  double ty;
+  double ta;
+  double ts;
+  double tl;
+  double cl;
+  double tshort;
+  double tlong;
+  double thor;
+  double tvert;
+  double heartbeat;
+  double timestamp;
+
+  final double[] cornersX = new double[MAX_CORNERS];
+  final double[] cornersY = new double[MAX_CORNERS];
+  int cornerCount;
+
+  final double[] camtran = new double[CAMTRAN_LENGTH];
+  boolean camtranValid;
+
+  /**
+   * Determines whether a target was latched onto in this frame.
+   *
+   * @return true if a target is visible; otherwise, false
+   */
+  public boolean isTargetVisible() {
+    return targetVisible;
+  }
+
+  /** @return the horizontal angular distance to the target, in degrees */
+  public double getTx() {
+    return tx;
+  }
+
+  /** @return the vertical angular distance to the target, in degrees */
+  public double getTy() {
+    return ty;
+  }
+
+  /** @return the area, as a percent of the total screen */
+  public double getTa() {
+    return ta;
+  }
+
+  /** @return the angular skew, in degrees [-90, 0] */
+  public double getTs() {
+    return ts;
+  }
+
+  /** @return the pipeline latency, in milliseconds */
+  public double getTl() {
+    return tl;
+  }
+
+  /** @return the capture latency, in milliseconds, or 0 if the camera does not publish it */
+  public double getCl() {
+    return cl;
+  }
+
+  /**
+   * Determines when the image for this frame was captured, by subtracting the pipeline and capture
+   * latencies from the time the frame was received. On the robot the NetworkTables local time is
+   * the FPGA time, so this can be compared directly with {@code Timer.getFPGATimestamp()}.
+   *
+   * @return the capture timestamp, in seconds
+   */
+  public double getCaptureTimestamp() {
+    return timestamp - (tl + cl) / 1000.0;
+  }
+
+  /** @return the shortest sidelength of the fitted bounding box, in pixels */
+  public double getTshort() {
+    return tshort;
+  }
+
+  /** @return the longest sidelength of the fitted bounding box, in pixels */
+  public double getTlong() {
+    return tlong;
+  }
+
+  /** @return the horizontal sidelength of the rough bounding box, in pixels [0, 320] */
+  public double getThor() {
+    return thor;
+  }
+
+  /** @return the vertical sidelength of the rough bounding box, in pixels [0, 240] */
+  public double getTvert() {
+    return tvert;
+  }
+
+  /** @return the heartbeat value the camera published with this frame */
+  public double getHeartbeat() {
+    return heartbeat;
+  }
+
+  /**
+   * Returns the NetworkTables local time at which this frame was received.
+   *
+   * @return the timestamp, in seconds
+   */
+  public double getTimestamp() {
+    return timestamp;
+  }
+
+  /** @return the number of corner coordinates stored in this frame */
+  public int getCornerCount() {
+    return cornerCount;
+  }
+
+  /**
+   * @param index the corner index, in [0, {@link #getCornerCount()})
+   * @return the x coordinate of the corner, in pixels
+   */
+  public double getCornerX(int index) {
+    return cornersX[index];
+  }
+
+  /**
+   * @param index the corner index, in [0, {@link #getCornerCount()})
+   * @return the y coordinate of the corner, in pixels
+   */
+  public double getCornerY(int index) {
+    return cornersY[index];
+  }
+
+  /**
+   * Determines whether the camera published a complete camtran array with this frame.
+   *
+   * @return true if the camtran values are valid; otherwise, false
+   */
+  public boolean isCamtranValid() {
+    return camtranValid;
+  }
+
+  /**
+   * @param index the camtran index, in the order (x, y, z, pitch, yaw, roll)
+   * @return the camtran value, or 0 if the camtran array was not published
+   */
+  public double getCamtran(int index) {
+    return camtran[index];
+  }
+
+  /**
+   * Copies the values of another frame into this one.
+   *
+   * @param other the frame to copy from
+   */
+  public void copyFrom(LimelightFrame other) {
+    targetVisible = other.targetVisible;
+    tx = other.tx;
+    ty = other.ty;
+    ta = other.ta;
+    ts = other.ts;
+    tl = other.tl;
+    cl = other.cl;
+    tshort = other.tshort;
+    tlong = other.tlong;
+    thor = other.thor;
+    tvert = other.tvert;
+    heartbeat = other.heartbeat;
+    timestamp = other.timestamp;
+    cornerCount = other.cornerCount;
+    System.arraycopy(other.cornersX, 0, cornersX, 0, cornerCount);
+    System.arraycopy(other.cornersY, 0, cornersY, 0, cornerCount);
+    camtranValid = other.camtranValid;
+    System.arraycopy(other.camtran, 0, camtran, 0, CAMTRAN_LENGTH);
+  }
+
+  /**
+   * Encodes this frame as a flat record of doubles.
+   *
+   * @param record the array to write into; must hold at least {@link #RECORD_LENGTH} values
+   */
+  public void writeTo(double[] record) {
+    record[0] = targetVisible ? 1.0 : 0.0;
+    record[1] = tx;
+    record[2] = ty;
+    record[3] = ta;
+    record[4] = ts;
+    record[5] = tl;
+    record[6] = tshort;
+    record[7] = tlong;
+    record[8] = thor;
+    record[9] = tvert;
+    record[10] = heartbeat;
+    record[11] = timestamp;
+    record[12] = cornerCount;
+    record[13] = camtranValid ? 1.0 : 0.0;
+    record[14] = cl;
+    System.arraycopy(cornersX, 0, record, SCALAR_FIELDS, cornerCount);
+    System.arraycopy(cornersY, 0, record, SCALAR_FIELDS + MAX_CORNERS, cornerCount);
+    System.arraycopy(camtran, 0, record, SCALAR_FIELDS + 2 * MAX_CORNERS, CAMTRAN_LENGTH);
+  }
+
+  /**
+   * Decodes a record written by {@link #writeTo(double[])} into this frame.
+   *
+   * @param record the record to read from
+   */
+  public void readFrom(double[] record) {
+    targetVisible = record[0] != 0.0;
+    tx = record[1];
+    ty = record[2];
+    ta = record[3];
+    ts = record[4];
+    tl = record[5];
+    tshort = record[6];
+    tlong = record[7];
+    thor = record[8];
+    tvert = record[9];
+    heartbeat = record[10];
+    timestamp = record[11];
+    cornerCount = (int) record[12];
+    camtranValid = record[13] != 0.0;
+    cl = record[14];
+    System.arraycopy(record, SCALAR_FIELDS, cornersX, 0, cornerCount);
+    System.arraycopy(record, SCALAR_FIELDS + MAX_CORNERS, cornersY, 0, cornerCount);
+    System.arraycopy(record, SCALAR_FIELDS + 2 * MAX_CORNERS, camtran, 0, CAMTRAN_LENGTH);
+  }
+
+  /**
+   * Copies a published corner array into one of this frame's corner buffers.
+   *
+   * @return the number of values copied
+   */
+  static int copyCorners(double[] source, double[] destination) {
+    int count = Math.min(source.length, MAX_CORNERS);
+    System.arraycopy(source, 0, destination, 0, count);
+    return count;
+  }
+
+  /** Copies a published camtran array into this frame, zeroing it if it is incomplete. */
+  void setCamtran(double[] source) {
+    camtranValid = source.length >= CAMTRAN_LENGTH;
+    for (int i = 0; i < CAMTRAN_LENGTH; i++) {
+      camtran[i] = camtranValid ? source[i] : 0.0;
+    }
+  }
+}
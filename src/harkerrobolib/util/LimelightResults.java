@@ -0,0 +1,197 @@
+package harkerrobolib.util;
+
+/**
+ * Holds the contents of one Limelight JSON results dump: the fiducial (AprilTag) and
+ * retroreflective targets, the robot poses and the frame's timing. Everything is stored in
+ * preallocated primitive arrays so that a single instance can be refilled every frame by {@link
+ * LimelightResultsParser} without allocating.
+ *
+ * @since 10/17/26
+ */
+public class LimelightResults {
+  /** The maximum number of fiducial targets stored; extra targets are skipped. */
+  public static final int MAX_FIDUCIALS = 16;
+  /** The maximum number of retroreflective targets stored; extra targets are skipped. */
+  public static final int MAX_RETRO = 16;
+  /** The number of values in a pose array (x, y, z, roll, pitch, yaw). */
+  public static final int POSE_LENGTH = 6;
+
+  boolean valid;
+  int pipelineIndex;
+  double tl;
+  double cl;
+  double timestamp;
+
+  final double[] botpose = new double[POSE_LENGTH];
+  final double[] botposeBlue = new double[POSE_LENGTH];
+  final double[] botposeRed = new double[POSE_LENGTH];
+
+  int fiducialCount;
+  final int[] fiducialId = new int[MAX_FIDUCIALS];
+  final double[] fiducialTx = new double[MAX_FIDUCIALS];
+  final double[] fiducialTy = new double[MAX_FIDUCIALS];
+  final double[] fiducialTa = new double[MAX_FIDUCIALS];
+  final double[] fiducialTxPixels = new double[MAX_FIDUCIALS];
+  final double[] fiducialTyPixels = new double[MAX_FIDUCIALS];
+  final double[] fiducialRobotPose = new double[MAX_FIDUCIALS * POSE_LENGTH];
+  final double[] fiducialTargetPose = new double[MAX_FIDUCIALS * POSE_LENGTH];
+
+  int retroCount;
+  final double[] retroTx = new double[MAX_RETRO];
+  final double[] retroTy = new double[MAX_RETRO];
+  final double[] retroTa = new double[MAX_RETRO];
+  final double[] retroTxPixels = new double[MAX_RETRO];
+  final double[] retroTyPixels = new double[MAX_RETRO];
+
+  /** Resets every value before a new dump is parsed. */
+  void clear() {
+    valid = false;
+    pipelineIndex = 0;
+    tl = 0;
+    cl = 0;
+    timestamp = 0;
+    fiducialCount = 0;
+    retroCount = 0;
+    for (int i = 0; i < POSE_LENGTH; i++) {
+      botpose[i] = 0;
+      botposeBlue[i] = 0;
+      botposeRed[i] = 0;
+    }
+  }
+
+  /**
+   * Determines whether the last parse succeeded and the camera reported valid results.
+   *
+   * @return true if the results are valid; otherwise, false
+   */
+  public boolean isValid() {
+    return valid;
+  }
+
+  /** @return the index of the pipeline that produced the results */
+  public int getPipelineIndex() {
+    return pipelineIndex;
+  }
+
+  /** @return the pipeline latency, in milliseconds */
+  public double getTl() {
+    return tl;
+  }
+
+  /** @return the capture latency, in milliseconds */
+  public double getCl() {
+    return cl;
+  }
+
+  /** @return the camera's timestamp for the results, in milliseconds */
+  public double getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * @param index the pose index, in the order (x, y, z, roll, pitch, yaw)
+   * @return the robot pose in field space, with the origin at the center of the field
+   */
+  public double getBotpose(int index) {
+    return botpose[index];
+  }
+
+  /**
+   * @param index the pose index, in the order (x, y, z, roll, pitch, yaw)
+   * @return the robot pose in field space, with the origin at the blue driver station
+   */
+  public double getBotposeBlue(int index) {
+    return botposeBlue[index];
+  }
+
+  /**
+   * @param index the pose index, in the order (x, y, z, roll, pitch, yaw)
+   * @return the robot pose in field space, with the origin at the red driver station
+   */
+  public double getBotposeRed(int index) {
+    return botposeRed[index];
+  }
+
+  /** @return the number of fiducial targets stored */
+  public int getFiducialCount() {
+    return fiducialCount;
+  }
+
+  /** @return the id of a fiducial target */
+  public int getFiducialId(int target) {
+    return fiducialId[target];
+  }
+
+  /** @return the horizontal angle to a fiducial target, in degrees */
+  public double getFiducialTx(int target) {
+    return fiducialTx[target];
+  }
+
+  /** @return the vertical angle to a fiducial target, in degrees */
+  public double getFiducialTy(int target) {
+    return fiducialTy[target];
+  }
+
+  /** @return the area of a fiducial target, as a percent of the image */
+  public double getFiducialTa(int target) {
+    return fiducialTa[target];
+  }
+
+  /** @return the horizontal position of a fiducial target, in pixels */
+  public double getFiducialTxPixels(int target) {
+    return fiducialTxPixels[target];
+  }
+
+  /** @return the vertical position of a fiducial target, in pixels */
+  public double getFiducialTyPixels(int target) {
+    return fiducialTyPixels[target];
+  }
+
+  /**
+   * @param target the fiducial target
+   * @param index the pose index, in the order (x, y, z, roll, pitch, yaw)
+   * @return the robot pose in field space computed from this target alone
+   */
+  public double getFiducialRobotPose(int target, int index) {
+    return fiducialRobotPose[target * POSE_LENGTH + index];
+  }
+
+  /**
+   * @param target the fiducial target
+   * @param index the pose index, in the order (x, y, z, roll, pitch, yaw)
+   * @return the target pose in camera space
+   */
+  public double getFiducialTargetPose(int target, int index) {
+    return fiducialTargetPose[target * POSE_LENGTH + index];
+  }
+
+  /** @return the number of retroreflective targets stored */
+  public int getRetroCount() {
+    return retroCount;
+  }
+
+  /** @return the horizontal angle to a retroreflective target, in degrees */
+  public double getRetroTx(int target) {
+    return retroTx[target];
+  }
+
+  /** @return the vertical angle to a retroreflective target, in degrees */
+  public double getRetroTy(int target) {
+    return retroTy[target];
+  }
+
+  /** @return the area of a retroreflective target, as a percent of the image */
+  public double getRetroTa(int target) {
+    return retroTa[target];
+  }
+
+  /** @return the horizontal position of a retroreflective target, in pixels */
+  public double getRetroTxPixels(int target) {
+    return retroTxPixels[target];
+  }
+
+  /** @return the vertical position of a retroreflective target, in pixels */
+  public double getRetroTyPixels(int target) {
+    return retroTyPixels[target];
+  }
+}
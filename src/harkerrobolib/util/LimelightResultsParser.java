@@ -0,0 +1,423 @@
+package harkerrobolib.util;
+
+/**
+ * Parses the Limelight JSON results dump directly into a reusable {@link LimelightResults}. The
+ * parser walks the text once with a hand-written tokenizer: keys are matched in place against the
+ * text, numbers are converted without creating substrings, and unknown fields are skipped, so a
+ * parse is designed to allocate nothing. Fields the results do not store, and targets beyond the
+ * results' capacity, are skipped.
+ *
+ * <p>Neither parse time nor allocation has been benchmarked. {@link #getLastParseNanos()} reports
+ * the time of the last parse at runtime, but it does not measure allocation.
+ *
+ * <p>A parser is not thread-safe; use one per thread.
+ *
+ * @since 10/17/26
+ */
+public class LimelightResultsParser {
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** The number of significant digits kept when converting numbers; more cannot fit in a long. */
+  private static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+  private String json;
+  private int length;
+  private int pos;
+  private boolean error;
+  private int keyStart;
+  private int keyEnd;
+  private long lastParseNanos;
+
+  /**
+   * Parses a results dump.
+   *
+   * @param text the JSON text published by the camera
+   * @param into the results to overwrite
+   * @return true if the text was well-formed; otherwise, false, in which case the results are
+   *     marked invalid
+   */
+  public boolean parse(String text, LimelightResults into) {
+    long start = System.nanoTime();
+    into.clear();
+    json = text;
+    length = text.length();
+    pos = 0;
+    error = false;
+
+    if (expect('{')) {
+      parseResults(into);
+    }
+    if (error) {
+      into.valid = false;
+    }
+    json = null;
+    lastParseNanos = System.nanoTime() - start;
+    return !error;
+  }
+
+  /** @return how long the most recent call to {@link #parse} took, in nanoseconds */
+  public long getLastParseNanos() {
+    return lastParseNanos;
+  }
+
+  /** Parses the members of the top-level object, or of the "Results" object inside it. */
+  private void parseResults(LimelightResults into) {
+    if (isEmpty('}')) {
+      return;
+    }
+    do {
+      if (!readKey()) {
+        return;
+      }
+      if (keyIs("Results") && peek() == '{') {
+        pos++;
+        parseResults(into);
+      } else if (keyIs("Fiducial")) {
+        parseFiducials(into);
+      } else if (keyIs("Retro")) {
+        parseRetros(into);
+      } else if (keyIs("botpose")) {
+        readNumberArray(into.botpose, 0, LimelightResults.POSE_LENGTH);
+      } else if (keyIs("botpose_wpiblue")) {
+        readNumberArray(into.botposeBlue, 0, LimelightResults.POSE_LENGTH);
+      } else if (keyIs("botpose_wpired")) {
+        readNumberArray(into.botposeRed, 0, LimelightResults.POSE_LENGTH);
+      } else if (keyIs("pID")) {
+        into.pipelineIndex = (int) readNumber();
+      } else if (keyIs("tl")) {
+        into.tl = readNumber();
+      } else if (keyIs("cl")) {
+        into.cl = readNumber();
+      } else if (keyIs("ts")) {
+        into.timestamp = readNumber();
+      } else if (keyIs("v")) {
+        into.valid = readNumber() == 1;
+      } else {
+        skipValue();
+      }
+    } while (nextMember('}'));
+  }
+
+  private void parseFiducials(LimelightResults into) {
+    if (!expect('[') || isEmpty(']')) {
+      return;
+    }
+    do {
+      if (into.fiducialCount >= LimelightResults.MAX_FIDUCIALS) {
+        skipValue();
+      } else if (expect('{')) {
+        parseFiducial(into, into.fiducialCount++);
+      }
+    } while (nextMember(']'));
+  }
+
+  private void parseFiducial(LimelightResults into, int target) {
+    int poseOffset = target * LimelightResults.POSE_LENGTH;
+    into.fiducialId[target] = -1;
+    into.fiducialTx[target] = 0;
+    into.fiducialTy[target] = 0;
+    into.fiducialTa[target] = 0;
+    into.fiducialTxPixels[target] = 0;
+    into.fiducialTyPixels[target] = 0;
+    for (int i = 0; i < LimelightResults.POSE_LENGTH; i++) {
+      into.fiducialRobotPose[poseOffset + i] = 0;
+      into.fiducialTargetPose[poseOffset + i] = 0;
+    }
+    if (isEmpty('}')) {
+      return;
+    }
+    do {
+      if (!readKey()) {
+        return;
+      }
+      if (keyIs("fID")) {
+        into.fiducialId[target] = (int) readNumber();
+      } else if (keyIs("tx")) {
+        into.fiducialTx[target] = readNumber();
+      } else if (keyIs("ty")) {
+        into.fiducialTy[target] = readNumber();
+      } else if (keyIs("ta")) {
+        into.fiducialTa[target] = readNumber();
+      } else if (keyIs("txp")) {
+        into.fiducialTxPixels[target] = readNumber();
+      } else if (keyIs("typ")) {
+        into.fiducialTyPixels[target] = readNumber();
+      } else if (keyIs("t6r_fs")) {
+        readNumberArray(into.fiducialRobotPose, poseOffset, LimelightResults.POSE_LENGTH);
+      } else if (keyIs("t6t_cs")) {
+        readNumberArray(into.fiducialTargetPose, poseOffset, LimelightResults.POSE_LENGTH);
+      } else {
+        skipValue();
+      }
+    } while (nextMember('}'));
+  }
+
+  private void parseRetros(LimelightResults into) {
+    if (!expect('[') || isEmpty(']')) {
+      return;
+    }
+    do {
+      if (into.retroCount >= LimelightResults.MAX_RETRO) {
+        skipValue();
+      } else if (expect('{')) {
+        parseRetro(into, into.retroCount++);
+      }
+    } while (nextMember(']'));
+  }
+
+  private void parseRetro(LimelightResults into, int target) {
+    into.retroTx[target] = 0;
+    into.retroTy[target] = 0;
+    into.retroTa[target] = 0;
+    into.retroTxPixels[target] = 0;
+    into.retroTyPixels[target] = 0;
+    if (isEmpty('}')) {
+      return;
+    }
+    do {
+      if (!readKey()) {
+        return;
+      }
+      if (keyIs("tx")) {
+        into.retroTx[target] = readNumber();
+      } else if (keyIs("ty")) {
+        into.retroTy[target] = readNumber();
+      } else if (keyIs("ta")) {
+        into.retroTa[target] = readNumber();
+      } else if (keyIs("txp")) {
+        into.retroTxPixels[target] = readNumber();
+      } else if (keyIs("typ")) {
+        into.retroTyPixels[target] = readNumber();
+      } else {
+        skipValue();
+      }
+    } while (nextMember('}'));
+  }
+
+  /**
+   * Reads an array of numbers into part of a destination array. Values beyond the given count are
+   * read but discarded.
+   *
+   * @return the number of values in the array
+   */
+  private int readNumberArray(double[] destination, int offset, int count) {
+    if (!expect('[') || isEmpty(']')) {
+      return 0;
+    }
+    int read = 0;
+    do {
+      double value = readNumber();
+      if (read < count) {
+        destination[offset + read] = value;
+      }
+      read++;
+    } while (nextMember(']'));
+    return read;
+  }
+
+  /** Skips whitespace and returns the next character, or 0 at the end of the text. */
+  private char peek() {
+    while (pos < length) {
+      char c = json.charAt(pos);
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return c;
+      }
+      pos++;
+    }
+    return 0;
+  }
+
+  /** Consumes an expected character, flagging an error if it is not next. */
+  private boolean expect(char c) {
+    if (error || peek() != c) {
+      error = true;
+      return false;
+    }
+    pos++;
+    return true;
+  }
+
+  /** Consumes the closing character of an empty object or array, if it is next. */
+  private boolean isEmpty(char close) {
+    if (peek() == close) {
+      pos++;
+      return true;
+    }
+    return error;
+  }
+
+  /**
+   * Consumes the separator after an object member or array element.
+   *
+   * @return true if another member follows; false at the closing character or on an error
+   */
+  private boolean nextMember(char close) {
+    if (error) {
+      return false;
+    }
+    char c = peek();
+    if (c == ',') {
+      pos++;
+      return true;
+    }
+    if (c == close) {
+      pos++;
+      return false;
+    }
+    error = true;
+    return false;
+  }
+
+  /** Reads a member name and the colon after it, recording where the name lies in the text. */
+  private boolean readKey() {
+    if (!expect('"')) {
+      return false;
+    }
+    keyStart = pos;
+    skipStringBody();
+    keyEnd = pos - 1;
+    return expect(':');
+  }
+
+  private boolean keyIs(String name) {
+    int nameLength = name.length();
+    return keyEnd - keyStart == nameLength && json.regionMatches(keyStart, name, 0, nameLength);
+  }
+
+  /** Advances past the closing quote of a string whose opening quote was already consumed. */
+  private void skipStringBody() {
+    while (pos < length) {
+      char c = json.charAt(pos++);
+      if (c == '\\') {
+        pos++;
+      } else if (c == '"') {
+        return;
+      }
+    }
+    error = true;
+  }
+
+  /** Skips a value of any type, including nested objects and arrays. */
+  private void skipValue() {
+    char c = peek();
+    if (c == '"') {
+      pos++;
+      skipStringBody();
+      return;
+    }
+    if (c == '{' || c == '[') {
+      int depth = 0;
+      while (pos < length) {
+        c = json.charAt(pos++);
+        if (c == '"') {
+          skipStringBody();
+        } else if (c == '{' || c == '[') {
+          depth++;
+        } else if ((c == '}' || c == ']') && --depth == 0) {
+          return;
+        }
+      }
+      error = true;
+      return;
+    }
+    int start = pos;
+    while (pos < length) {
+      c = json.charAt(pos);
+      if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+        break;
+      }
+      pos++;
+    }
+    if (pos == start) {
+      error = true;
+    }
+  }
+
+  /** Reads a number; true, false and null are read as 1, 0 and 0. */
+  private double readNumber() {
+    char c = peek();
+    if (c == 't' || c == 'f' || c == 'n') {
+      double value = c == 't' ? 1 : 0;
+      skipValue();
+      return value;
+    }
+    boolean negative = c == '-';
+    if (negative) {
+      pos++;
+    }
+    long mantissa = 0;
+    int significantDigits = 0;
+    int exponent = 0;
+    boolean anyDigits = false;
+    while (pos < length && isDigit(c = json.charAt(pos))) {
+      anyDigits = true;
+      if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+        mantissa = mantissa * 10 + (c - '0');
+        if (mantissa != 0) {
+          significantDigits++;
+        }
+      } else {
+        exponent++;
+      }
+      pos++;
+    }
+    if (pos < length && json.charAt(pos) == '.') {
+      pos++;
+      while (pos < length && isDigit(c = json.charAt(pos))) {
+        anyDigits = true;
+        if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+          mantissa = mantissa * 10 + (c - '0');
+          if (mantissa != 0) {
+            significantDigits++;
+          }
+          exponent--;
+        }
+        pos++;
+      }
+    }
+    if (pos < length && (json.charAt(pos) == 'e' || json.charAt(pos) == 'E')) {
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < length && (json.charAt(pos) == '-' || json.charAt(pos) == '+')) {
+        negativeExponent = json.charAt(pos) == '-';
+        pos++;
+      }
+      int explicitExponent = 0;
+      while (pos < length && isDigit(c = json.charAt(pos))) {
+        if (explicitExponent < 1000) {
+          explicitExponent = explicitExponent * 10 + (c - '0');
+        }
+        pos++;
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    if (!anyDigits) {
+      error = true;
+      return 0;
+    }
+    double value = scale(mantissa, exponent);
+    return negative ? -value : value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /** Computes mantissa * 10^exponent, exactly when both fit in a double. */
+  private static double scale(long mantissa, int exponent) {
+    if (mantissa == 0) {
+      return 0;
+    }
+    if (exponent >= 0) {
+      return exponent < POWERS_OF_TEN.length
+          ? mantissa * POWERS_OF_TEN[exponent]
+          : mantissa * Math.pow(10, exponent);
+    }
+    return -exponent < POWERS_OF_TEN.length
+        ? mantissa / POWERS_OF_TEN[-exponent]
+        : mantissa / Math.pow(10, -exponent);
+  }
+}
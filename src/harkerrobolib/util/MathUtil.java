@@ -40,4 +40,18 @@ public final class MathUtil {
         ? map(inputValue, deadband, 1, 0, 1)
         : map(inputValue, -1, -deadband, -1, 0);
   }
+
+  /**
+   * Wraps an angle to the range [-pi, pi).
+   *
+   * @param radians the angle to wrap, in radians
+   * @return the equivalent angle in [-pi, pi)
+   */
+  public static double wrapAngle(double radians) {
+    double wrapped = (radians + Math.PI) % (2 * Math.PI);
+    if (wrapped < 0) {
+      wrapped += 2 * Math.PI;
+    }
+    return wrapped - Math.PI;
+  }
 }
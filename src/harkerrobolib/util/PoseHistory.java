@@ -0,0 +1,150 @@
+package harkerrobolib.util;
+
+/**
+ * Records a fixed-length history of timestamped robot poses so that a measurement taken in the
+ * past, such as a Limelight frame, can be matched to where the robot was when it was captured.
+ * Samples are stored in preallocated circular arrays; once the history is full the oldest sample
+ * is overwritten.
+ *
+ * @since 10/17/26
+ */
+public class PoseHistory {
+  /** The index of the x coordinate in a pose array. */
+  public static final int X = 0;
+  /** The index of the y coordinate in a pose array. */
+  public static final int Y = 1;
+  /** The index of the heading, in radians, in a pose array. */
+  public static final int HEADING = 2;
+
+  private final double[] timestamps;
+  private final double[] xs;
+  private final double[] ys;
+  private final double[] headings;
+  private final int capacity;
+  private int start;
+  private int size;
+
+  /**
+   * Creates an empty pose history.
+   *
+   * @param capacity the number of samples to keep, such as 50 for one second of 20 ms samples
+   */
+  public PoseHistory(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Pose history must hold at least two samples");
+    }
+    this.capacity = capacity;
+    timestamps = new double[capacity];
+    xs = new double[capacity];
+    ys = new double[capacity];
+    headings = new double[capacity];
+  }
+
+  /**
+   * Records a pose. Samples must be added in increasing timestamp order; a sample older than the
+   * newest one clears the history first, which happens when the robot clock is reset.
+   *
+   * @param timestamp the time of the sample, in seconds
+   * @param x the x coordinate
+   * @param y the y coordinate
+   * @param heading the heading, in radians
+   */
+  public void addSample(double timestamp, double x, double y, double heading) {
+    if (size > 0 && timestamp <= timestamps[physical(size - 1)]) {
+      if (timestamp == timestamps[physical(size - 1)]) {
+        return;
+      }
+      clear();
+    }
+    int index;
+    if (size < capacity) {
+      index = physical(size);
+      size++;
+    } else {
+      index = start;
+      start = (start + 1) % capacity;
+    }
+    timestamps[index] = timestamp;
+    xs[index] = x;
+    ys[index] = y;
+    headings[index] = heading;
+  }
+
+  /**
+   * Determines the pose at a given time by interpolating between the two samples around it.
+   * Times before the oldest sample or after the newest sample are clamped to that sample. The
+   * heading is interpolated the short way around and returned wrapped to [-pi, pi).
+   *
+   * @param timestamp the time to look up, in seconds
+   * @param into the array to fill, indexed by {@link #X}, {@link #Y} and {@link #HEADING}
+   * @return true if the history had a sample to look up; false if it is empty
+   */
+  public boolean getPose(double timestamp, double[] into) {
+    if (size == 0) {
+      return false;
+    }
+    int newest = physical(size - 1);
+    if (timestamp >= timestamps[newest]) {
+      copy(newest, into);
+      return true;
+    }
+    if (timestamp <= timestamps[start]) {
+      copy(start, into);
+      return true;
+    }
+
+    // Find the last sample at or before the timestamp
+    int low = 0;
+    int high = size - 1;
+    while (high - low > 1) {
+      int mid = (low + high) >>> 1;
+      if (timestamps[physical(mid)] <= timestamp) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+    int before = physical(low);
+    int after = physical(high);
+    double t = (timestamp - timestamps[before]) / (timestamps[after] - timestamps[before]);
+    into[X] = xs[before] + (xs[after] - xs[before]) * t;
+    into[Y] = ys[before] + (ys[after] - ys[before]) * t;
+    into[HEADING] =
+        MathUtil.wrapAngle(
+            headings[before] + MathUtil.wrapAngle(headings[after] - headings[before]) * t);
+    return true;
+  }
+
+  /**
+   * Determines the pose at the time a Limelight frame was captured.
+   *
+   * @param frame the frame to look up
+   * @param into the array to fill, indexed by {@link #X}, {@link #Y} and {@link #HEADING}
+   * @return true if the history had a sample to look up; false if it is empty
+   * @see LimelightFrame#getCaptureTimestamp()
+   */
+  public boolean getPose(LimelightFrame frame, double[] into) {
+    return getPose(frame.getCaptureTimestamp(), into);
+  }
+
+  /** @return the number of samples in the history */
+  public int size() {
+    return size;
+  }
+
+  /** Removes every sample from the history. */
+  public void clear() {
+    start = 0;
+    size = 0;
+  }
+
+  private int physical(int logical) {
+    return (start + logical) % capacity;
+  }
+
+  private void copy(int index, double[] into) {
+    into[X] = xs[index];
+    into[Y] = ys[index];
+    into[HEADING] = MathUtil.wrapAngle(headings[index]);
+  }
+}
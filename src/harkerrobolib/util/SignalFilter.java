@@ -0,0 +1,147 @@
+package harkerrobolib.util;
+
+/**
+ * Smooths a stream of samples with a moving average, a moving median or an exponential filter.
+ * The window is held in fixed-size primitive arrays allocated on construction, so filtering a
+ * sample never allocates. The moving average and exponential filters cost O(1) per sample; the
+ * median keeps its window sorted and costs O(window).
+ *
+ * @since 10/17/26
+ */
+public class SignalFilter {
+  /** The kinds of filter. */
+  public enum Type {
+    MOVING_AVERAGE,
+    MEDIAN,
+    EXPONENTIAL
+  }
+
+  private final Type type;
+  private final double[] window;
+  private final double[] sorted;
+  private final double alpha;
+
+  private int next;
+  private int count;
+  private double sum;
+  private double value;
+
+  private SignalFilter(Type type, int size, double alpha) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Filter window must hold at least one sample");
+    }
+    this.type = type;
+    this.alpha = alpha;
+    window = new double[size];
+    sorted = type == Type.MEDIAN ? new double[size] : null;
+  }
+
+  /**
+   * Creates a filter that averages the most recent samples.
+   *
+   * @param size the number of samples averaged
+   * @return the filter
+   */
+  public static SignalFilter movingAverage(int size) {
+    return new SignalFilter(Type.MOVING_AVERAGE, size, 0);
+  }
+
+  /**
+   * Creates a filter that takes the median of the most recent samples, rejecting isolated spikes.
+   *
+   * @param size the number of samples the median is taken over
+   * @return the filter
+   */
+  public static SignalFilter median(int size) {
+    return new SignalFilter(Type.MEDIAN, size, 0);
+  }
+
+  /**
+   * Creates a filter that blends each sample into an exponentially weighted average.
+   *
+   * @param alpha the weight of each new sample, in (0, 1]
+   * @return the filter
+   */
+  public static SignalFilter exponential(double alpha) {
+    return new SignalFilter(Type.EXPONENTIAL, 1, alpha);
+  }
+
+  /**
+   * Adds a sample to the filter. NaN and infinite samples are skipped, since a single one would
+   * otherwise stay in the window's sum or sorted order until the filter is reset.
+   *
+   * @param sample the new sample
+   * @return the filtered value, unchanged if the sample was skipped
+   */
+  public double calculate(double sample) {
+    if (!Double.isFinite(sample)) {
+      return value;
+    }
+    switch (type) {
+      case MOVING_AVERAGE:
+        if (count == window.length) {
+          sum -= window[next];
+        } else {
+          count++;
+        }
+        window[next] = sample;
+        next = (next + 1) % window.length;
+        sum += sample;
+        value = sum / count;
+        break;
+      case MEDIAN:
+        int size = count;
+        if (count == window.length) {
+          size = remove(window[next], size);
+        } else {
+          count++;
+        }
+        window[next] = sample;
+        next = (next + 1) % window.length;
+        insert(sample, size);
+        value =
+            count % 2 == 1
+                ? sorted[count / 2]
+                : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+        break;
+      default:
+        value = count == 0 ? sample : value + alpha * (sample - value);
+        count = 1;
+        break;
+    }
+    return value;
+  }
+
+  /** Removes one occurrence of a value from the first size entries of the sorted window. */
+  private int remove(double old, int size) {
+    int i = 0;
+    while (i < size - 1 && sorted[i] != old) {
+      i++;
+    }
+    System.arraycopy(sorted, i + 1, sorted, i, size - i - 1);
+    return size - 1;
+  }
+
+  /** Inserts a value into the first size entries of the sorted window. */
+  private void insert(double sample, int size) {
+    int i = size;
+    while (i > 0 && sorted[i - 1] > sample) {
+      sorted[i] = sorted[i - 1];
+      i--;
+    }
+    sorted[i] = sample;
+  }
+
+  /** @return the most recent filtered value */
+  public double get() {
+    return value;
+  }
+
+  /** Clears the filter's history. */
+  public void reset() {
+    next = 0;
+    count = 0;
+    sum = 0;
+    value = 0;
+  }
+}
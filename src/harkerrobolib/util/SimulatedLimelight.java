@@ -0,0 +1,253 @@
+package harkerrobolib.util;
+
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the topics of a Limelight to a NetworkTables table from a scripted target trajectory,
+ * so that {@link LimelightCamera} and anything that consumes it can be exercised without a camera.
+ * Pair it with a local instance from {@link NetworkTableInstance#create()} to run entirely on a
+ * desktop.
+ *
+ * @since 10/17/26
+ */
+public class SimulatedLimelight {
+  /** The horizontal resolution of a simulated image, in pixels. */
+  public static final double IMAGE_WIDTH = 320;
+  /** The vertical resolution of a simulated image, in pixels. */
+  public static final double IMAGE_HEIGHT = 240;
+  /** The horizontal field of view of a simulated camera, in degrees. */
+  public static final double HORIZONTAL_FOV = 59.6;
+  /** The vertical field of view of a simulated camera, in degrees. */
+  public static final double VERTICAL_FOV = 49.7;
+
+  /** Describes where the target is at each point in time. */
+  @FunctionalInterface
+  public interface Trajectory {
+    /**
+     * Fills in the target at a given time.
+     *
+     * @param time the time since the simulation started, in seconds
+     * @param target the target to fill in; it still holds the previous frame's values
+     */
+    void sample(double time, Target target);
+  }
+
+  /** The values of the simulated target for one frame. */
+  public static class Target {
+    private boolean visible;
+    private double tx;
+    private double ty;
+    private double ta;
+    private double ts;
+    private double latency = 11.0;
+    private double captureLatency;
+    private final double[] camtran = new double[LimelightFrame.CAMTRAN_LENGTH];
+
+    /**
+     * Places a visible target.
+     *
+     * @param tx the horizontal angle to the target, in degrees
+     * @param ty the vertical angle to the target, in degrees
+     * @param ta the target area, as a percent of the image
+     */
+    public void set(double tx, double ty, double ta) {
+      visible = true;
+      this.tx = tx;
+      this.ty = ty;
+      this.ta = ta;
+    }
+
+    /** Sets whether the target is visible in the frame. */
+    public void setVisible(boolean visible) {
+      this.visible = visible;
+    }
+
+    /** Sets the skew of the target, in degrees. */
+    public void setSkew(double ts) {
+      this.ts = ts;
+    }
+
+    /**
+     * Sets the latencies published with the frame.
+     *
+     * @param pipelineLatency the pipeline latency (tl), in milliseconds
+     * @param captureLatency the capture latency (cl), in milliseconds
+     */
+    public void setLatency(double pipelineLatency, double captureLatency) {
+      latency = pipelineLatency;
+      this.captureLatency = captureLatency;
+    }
+
+    /**
+     * Sets the camera pose published as camtran.
+     *
+     * @param x the camera's horizontal distance from the target
+     * @param y the camera's height relative to the target
+     * @param z the camera's vertical distance from the target
+     * @param pitch the camera's pitch relative to the target
+     * @param yaw the camera's yaw relative to the target
+     * @param roll the camera's roll relative to the target
+     */
+    public void setCamtran(double x, double y, double z, double pitch, double yaw, double roll) {
+      camtran[0] = x;
+      camtran[1] = y;
+      camtran[2] = z;
+      camtran[3] = pitch;
+      camtran[4] = yaw;
+      camtran[5] = roll;
+    }
+  }
+
+  private final Trajectory trajectory;
+  private final Target target = new Target();
+
+  private final DoublePublisher tv;
+  private final DoublePublisher tx;
+  private final DoublePublisher ty;
+  private final DoublePublisher ta;
+  private final DoublePublisher ts;
+  private final DoublePublisher tl;
+  private final DoublePublisher cl;
+  private final DoublePublisher heartbeat;
+  private final DoubleArrayPublisher cornersX;
+  private final DoubleArrayPublisher cornersY;
+  private final DoubleArrayPublisher camtran;
+
+  private final double[] cornerXValues = new double[4];
+  private final double[] cornerYValues = new double[4];
+  private final double[] noCorners = new double[0];
+
+  private ScheduledExecutorService scheduler;
+  private ScheduledFuture<?> publisher;
+  private long startNanos;
+  private double heartbeatCount;
+
+  /**
+   * Creates a simulated camera.
+   *
+   * @param instance the instance to publish to
+   * @param tableName the name of the camera's table
+   * @param trajectory the script describing the target over time
+   */
+  public SimulatedLimelight(
+      NetworkTableInstance instance, String tableName, Trajectory trajectory) {
+    this.trajectory = trajectory;
+    NetworkTable table = instance.getTable(tableName);
+    tv = table.getDoubleTopic(Limelight.TV_KEY).publish();
+    tx = table.getDoubleTopic(Limelight.TX_KEY).publish();
+    ty = table.getDoubleTopic(Limelight.TY_KEY).publish();
+    ta = table.getDoubleTopic(Limelight.TA_KEY).publish();
+    ts = table.getDoubleTopic(Limelight.TS_KEY).publish();
+    tl = table.getDoubleTopic(Limelight.TL_KEY).publish();
+    cl = table.getDoubleTopic(Limelight.CL_KEY).publish();
+    heartbeat = table.getDoubleTopic(Limelight.HEARTBEAT_KEY).publish();
+    cornersX = table.getDoubleArrayTopic(Limelight.CORNERX_KEY).publish();
+    cornersY = table.getDoubleArrayTopic(Limelight.CORNERY_KEY).publish();
+    camtran = table.getDoubleArrayTopic(Limelight.CAMTRAN_KEY).publish();
+  }
+
+  /**
+   * Starts publishing frames on a background daemon thread, which is created on the first call.
+   *
+   * @param framesPerSecond the rate at which to publish frames
+   */
+  public synchronized void start(double framesPerSecond) {
+    stop();
+    if (scheduler == null) {
+      scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "SimulatedLimelight");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    startNanos = System.nanoTime();
+    long periodNanos = (long) (1e9 / framesPerSecond);
+    publisher =
+        scheduler.scheduleAtFixedRate(
+            () -> step((System.nanoTime() - startNanos) * 1e-9),
+            0,
+            periodNanos,
+            TimeUnit.NANOSECONDS);
+  }
+
+  /** Stops publishing frames. */
+  public synchronized void stop() {
+    if (publisher != null) {
+      publisher.cancel(false);
+      publisher = null;
+    }
+  }
+
+  /**
+   * Samples the trajectory and publishes a single frame. Tests can call this directly instead of
+   * {@link #start(double)} to step the simulation deterministically.
+   *
+   * @param time the time since the simulation started, in seconds
+   */
+  public void step(double time) {
+    trajectory.sample(time, target);
+    tv.set(target.visible ? 1.0 : 0.0);
+    tx.set(target.visible ? target.tx : 0.0);
+    ty.set(target.visible ? target.ty : 0.0);
+    ta.set(target.visible ? target.ta : 0.0);
+    ts.set(target.visible ? target.ts : 0.0);
+    cl.set(target.captureLatency);
+    if (target.visible) {
+      computeCorners();
+      cornersX.set(cornerXValues);
+      cornersY.set(cornerYValues);
+      camtran.set(target.camtran);
+    } else {
+      cornersX.set(noCorners);
+      cornersY.set(noCorners);
+      camtran.set(noCorners);
+    }
+    // tl and the heartbeat are published last, since consumers treat them as the end of a frame
+    tl.set(target.latency);
+    heartbeat.set(++heartbeatCount);
+  }
+
+  /** Places an axis-aligned square with the target's center and area in image coordinates. */
+  private void computeCorners() {
+    double centerX = IMAGE_WIDTH / 2 * (1 + target.tx / (HORIZONTAL_FOV / 2));
+    double centerY = IMAGE_HEIGHT / 2 * (1 - target.ty / (VERTICAL_FOV / 2));
+    double half = Math.sqrt(target.ta / 100 * IMAGE_WIDTH * IMAGE_HEIGHT) / 2;
+    cornerXValues[0] = centerX - half;
+    cornerYValues[0] = centerY - half;
+    cornerXValues[1] = centerX + half;
+    cornerYValues[1] = centerY - half;
+    cornerXValues[2] = centerX + half;
+    cornerYValues[2] = centerY + half;
+    cornerXValues[3] = centerX - half;
+    cornerYValues[3] = centerY + half;
+  }
+
+  /** Stops publishing and releases the simulation's publishers and thread. */
+  public synchronized void close() {
+    stop();
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    tv.close();
+    tx.close();
+    ty.close();
+    ta.close();
+    ts.close();
+    tl.close();
+    cl.close();
+    heartbeat.close();
+    cornersX.close();
+    cornersY.close();
+    camtran.close();
+  }
+}
@@ -0,0 +1,211 @@
+package harkerrobolib.util;
+
+/**
+ * Computes the distance, bearing and skew of a vision target of known size from the corners the
+ * Limelight reports for one frame. The camera is modeled as a pinhole with a known mounting height
+ * and pitch; the target's center is intersected with the plane at the target's height to find its
+ * position on the floor, and the difference in apparent height between the target's left and right
+ * edges gives its skew.
+ *
+ * <p>The camera intrinsics and mounting trig are computed once on construction and arctangents
+ * are read from a lookup table, so {@link #solve(LimelightFrame)} does no allocation and no
+ * transcendental calls. Results are written to this solver and overwritten by the next solve.
+ *
+ * @since 10/17/26
+ */
+public class TargetGeometrySolver {
+  private static final int ATAN_TABLE_SIZE = 1024;
+  private static final double[] ATAN_TABLE = new double[ATAN_TABLE_SIZE + 1];
+
+  static {
+    for (int i = 0; i <= ATAN_TABLE_SIZE; i++) {
+      ATAN_TABLE[i] = Math.atan((double) i / ATAN_TABLE_SIZE);
+    }
+  }
+
+  private final double focalX;
+  private final double focalY;
+  private final double centerX;
+  private final double centerY;
+  private final double sinPitch;
+  private final double cosPitch;
+  private final double heightDifference;
+  private final double targetWidth;
+
+  private boolean valid;
+  private double distance;
+  private double forward;
+  private double lateral;
+  private double bearing;
+  private double skew;
+
+  /**
+   * Creates a solver.
+   *
+   * @param imageWidth the horizontal resolution of the image, in pixels
+   * @param imageHeight the vertical resolution of the image, in pixels
+   * @param horizontalFov the horizontal field of view, in degrees
+   * @param verticalFov the vertical field of view, in degrees
+   * @param cameraHeight the height of the camera lens above the floor
+   * @param cameraPitch the angle the camera is tilted up from horizontal, in degrees
+   * @param targetHeight the height of the target's center above the floor, in the same units as
+   *     the camera height
+   * @param targetWidth the width of the target, in the same units as the camera height
+   */
+  public TargetGeometrySolver(
+      double imageWidth,
+      double imageHeight,
+      double horizontalFov,
+      double verticalFov,
+      double cameraHeight,
+      double cameraPitch,
+      double targetHeight,
+      double targetWidth) {
+    centerX = imageWidth / 2;
+    centerY = imageHeight / 2;
+    focalX = centerX / Math.tan(Math.toRadians(horizontalFov) / 2);
+    focalY = centerY / Math.tan(Math.toRadians(verticalFov) / 2);
+    sinPitch = Math.sin(Math.toRadians(cameraPitch));
+    cosPitch = Math.cos(Math.toRadians(cameraPitch));
+    heightDifference = targetHeight - cameraHeight;
+    this.targetWidth = targetWidth;
+  }
+
+  /**
+   * Solves for the target in a frame's corners.
+   *
+   * @param frame the frame to solve
+   * @return true if a solution was found; otherwise, false
+   */
+  public boolean solve(LimelightFrame frame) {
+    return solve(frame.cornersX, frame.cornersY, frame.getCornerCount());
+  }
+
+  /**
+   * Solves for the target in a set of corners.
+   *
+   * @param cornersX the x coordinates of the corners, in pixels
+   * @param cornersY the y coordinates of the corners, in pixels
+   * @param count the number of corners
+   * @return true if a solution was found; otherwise, false
+   */
+  public boolean solve(double[] cornersX, double[] cornersY, int count) {
+    valid = false;
+    if (count < 2) {
+      return false;
+    }
+    double minX = cornersX[0];
+    double maxX = cornersX[0];
+    double minY = cornersY[0];
+    double maxY = cornersY[0];
+    for (int i = 1; i < count; i++) {
+      minX = Math.min(minX, cornersX[i]);
+      maxX = Math.max(maxX, cornersX[i]);
+      minY = Math.min(minY, cornersY[i]);
+      maxY = Math.max(maxY, cornersY[i]);
+    }
+    double u = (minX + maxX) / 2;
+    double v = (minY + maxY) / 2;
+
+    // Rotate the ray through the target's center from camera to robot coordinates
+    double rayX = (u - centerX) / focalX;
+    double rayY = (centerY - v) / focalY;
+    double rayForward = cosPitch - rayY * sinPitch;
+    double rayUp = sinPitch + rayY * cosPitch;
+    if (Math.abs(rayUp) < 1e-9 || rayUp * heightDifference <= 0) {
+      return false;
+    }
+    double scale = heightDifference / rayUp;
+    forward = rayForward * scale;
+    lateral = -rayX * scale;
+    distance = Math.sqrt(forward * forward + lateral * lateral);
+    bearing = Math.toDegrees(atan2(-lateral, forward));
+
+    // Compare the apparent heights of the left and right edges to estimate the target's skew
+    double leftMin = Double.MAX_VALUE;
+    double leftMax = -Double.MAX_VALUE;
+    double rightMin = Double.MAX_VALUE;
+    double rightMax = -Double.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      if (cornersX[i] < u) {
+        leftMin = Math.min(leftMin, cornersY[i]);
+        leftMax = Math.max(leftMax, cornersY[i]);
+      } else {
+        rightMin = Math.min(rightMin, cornersY[i]);
+        rightMax = Math.max(rightMax, cornersY[i]);
+      }
+    }
+    double leftHeight = leftMax - leftMin;
+    double rightHeight = rightMax - rightMin;
+    skew = 0;
+    if (leftHeight > 0 && rightHeight > 0 && targetWidth > 0) {
+      double ratio = (leftHeight - rightHeight) / (leftHeight + rightHeight);
+      double sinSkew = Math.max(-1, Math.min(1, 2 * distance * ratio / targetWidth));
+      skew = Math.toDegrees(atan(sinSkew / Math.sqrt(Math.max(1e-12, 1 - sinSkew * sinSkew))));
+    }
+    valid = true;
+    return true;
+  }
+
+  /** @return true if the last solve found a solution; otherwise, false */
+  public boolean isValid() {
+    return valid;
+  }
+
+  /** @return the distance along the floor from the camera to the target */
+  public double getDistance() {
+    return distance;
+  }
+
+  /** @return the distance from the camera to the target along the camera's forward axis */
+  public double getForward() {
+    return forward;
+  }
+
+  /** @return the distance from the camera to the target to the camera's left */
+  public double getLateral() {
+    return lateral;
+  }
+
+  /** @return the angle from the camera's forward axis to the target, in degrees, positive right */
+  public double getBearing() {
+    return bearing;
+  }
+
+  /**
+   * Returns how far the target is rotated about the vertical axis relative to facing the camera.
+   * The sign is positive when the target's left edge is closer to the camera.
+   *
+   * @return the skew, in degrees
+   */
+  public double getSkew() {
+    return skew;
+  }
+
+  /** Computes an arctangent from the lookup table. */
+  static double atan(double x) {
+    if (x < 0) {
+      return -atan(-x);
+    }
+    if (x > 1) {
+      return Math.PI / 2 - atan(1 / x);
+    }
+    double index = x * ATAN_TABLE_SIZE;
+    int low = (int) index;
+    if (low >= ATAN_TABLE_SIZE) {
+      return ATAN_TABLE[ATAN_TABLE_SIZE];
+    }
+    return ATAN_TABLE[low] + (ATAN_TABLE[low + 1] - ATAN_TABLE[low]) * (index - low);
+  }
+
+  /** Computes a four-quadrant arctangent from the lookup table. */
+  static double atan2(double y, double x) {
+    if (x > 0) {
+      return atan(y / x);
+    }
+    if (x < 0) {
+      return y >= 0 ? atan(y / x) + Math.PI : atan(y / x) - Math.PI;
+    }
+    return y > 0 ? Math.PI / 2 : y < 0 ? -Math.PI / 2 : 0;
+  }
+}
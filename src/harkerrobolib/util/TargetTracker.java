@@ -0,0 +1,303 @@
+package harkerrobolib.util;
+
+/**
+ * Smooths the target angles reported by a Limelight with a constant-velocity Kalman filter on each
+ * axis. Measurements whose innovation falls outside a gate are treated as false contours and
+ * ignored, and the filter can predict the target angle between camera frames. The filter state is
+ * a handful of primitive fields, so updates do not allocate.
+ *
+ * @since 10/17/26
+ */
+public class TargetTracker {
+  /** The default standard deviation of the target's angular acceleration, in degrees/s^2. */
+  public static final double DEFAULT_PROCESS_NOISE = 20.0;
+  /** The default standard deviation of a measured angle, in degrees. */
+  public static final double DEFAULT_MEASUREMENT_NOISE = 0.5;
+  /** The default standard deviation of a new track's angular rate, in degrees/s. */
+  public static final double DEFAULT_INITIAL_RATE_NOISE = 30.0;
+  /** The default gate, in standard deviations of the innovation. */
+  public static final double DEFAULT_GATE = 3.0;
+  /** The default number of consecutive gated measurements after which the track is restarted. */
+  public static final int DEFAULT_MAX_REJECTS = 5;
+  /** The default time after which an unconfirmed track is considered lost, in seconds. */
+  public static final double DEFAULT_STALE_TIME = 0.5;
+
+  /** The weight of the newest hit or miss in the hit rate. */
+  private static final double HIT_RATE_GAIN = 0.2;
+
+  private final Axis horizontal;
+  private final Axis vertical;
+  private final double gateSquared;
+  private final int maxRejects;
+  private final double staleTime;
+
+  private boolean tracking;
+  private double lastTime;
+  private double lastAcceptedTime;
+  private int consecutiveRejects;
+  private double hitRate;
+
+  /**
+   * Creates a tracker.
+   *
+   * @param processNoise the standard deviation of the target's angular acceleration, in
+   *     degrees/s^2
+   * @param measurementNoise the standard deviation of a measured angle, in degrees
+   * @param initialRateNoise the standard deviation of the target's angular rate when a track
+   *     starts, in degrees/s
+   * @param gate the number of innovation standard deviations beyond which a measurement is rejected
+   * @param maxRejects the number of consecutive rejected measurements after which the track is
+   *     restarted at the latest measurement
+   * @param staleTime the time since the last accepted measurement after which the track is lost,
+   *     in seconds
+   */
+  public TargetTracker(
+      double processNoise,
+      double measurementNoise,
+      double initialRateNoise,
+      double gate,
+      int maxRejects,
+      double staleTime) {
+    double accelerationVariance = processNoise * processNoise;
+    double measurementVariance = measurementNoise * measurementNoise;
+    double initialRateVariance = initialRateNoise * initialRateNoise;
+    horizontal = new Axis(accelerationVariance, measurementVariance, initialRateVariance);
+    vertical = new Axis(accelerationVariance, measurementVariance, initialRateVariance);
+    gateSquared = gate * gate;
+    this.maxRejects = maxRejects;
+    this.staleTime = staleTime;
+  }
+
+  /**
+   * Creates a tracker whose tracks start with the default angular rate uncertainty.
+   *
+   * @param processNoise the standard deviation of the target's angular acceleration, in
+   *     degrees/s^2
+   * @param measurementNoise the standard deviation of a measured angle, in degrees
+   * @param gate the number of innovation standard deviations beyond which a measurement is rejected
+   * @param maxRejects the number of consecutive rejected measurements after which the track is
+   *     restarted at the latest measurement
+   * @param staleTime the time since the last accepted measurement after which the track is lost,
+   *     in seconds
+   */
+  public TargetTracker(
+      double processNoise, double measurementNoise, double gate, int maxRejects, double staleTime) {
+    this(processNoise, measurementNoise, DEFAULT_INITIAL_RATE_NOISE, gate, maxRejects, staleTime);
+  }
+
+  /** Creates a tracker with the default tuning. */
+  public TargetTracker() {
+    this(
+        DEFAULT_PROCESS_NOISE,
+        DEFAULT_MEASUREMENT_NOISE,
+        DEFAULT_INITIAL_RATE_NOISE,
+        DEFAULT_GATE,
+        DEFAULT_MAX_REJECTS,
+        DEFAULT_STALE_TIME);
+  }
+
+  /**
+   * Feeds a Limelight frame into the tracker, timestamped at the moment it was captured. Call this
+   * once for each new frame.
+   *
+   * @param frame the frame to add
+   * @return true if the frame's target was accepted; otherwise, false
+   */
+  public boolean update(LimelightFrame frame) {
+    return update(
+        frame.getCaptureTimestamp(), frame.isTargetVisible(), frame.getTx(), frame.getTy());
+  }
+
+  /**
+   * Feeds a measurement into the tracker.
+   *
+   * @param timestamp the time the measurement was captured, in seconds
+   * @param visible whether a target was visible
+   * @param tx the measured horizontal angle, in degrees
+   * @param ty the measured vertical angle, in degrees
+   * @return true if the measurement was accepted; otherwise, false
+   */
+  public boolean update(double timestamp, boolean visible, double tx, double ty) {
+    if (tracking && timestamp - lastAcceptedTime > staleTime) {
+      tracking = false;
+    }
+    if (!visible) {
+      hitRate += HIT_RATE_GAIN * (0.0 - hitRate);
+      return false;
+    }
+    if (!tracking) {
+      start(timestamp, tx, ty);
+      return true;
+    }
+
+    double dt = Math.max(0.0, timestamp - lastTime);
+    horizontal.predict(dt);
+    vertical.predict(dt);
+    lastTime = timestamp;
+
+    if (horizontal.normalizedInnovation(tx) > gateSquared
+        || vertical.normalizedInnovation(ty) > gateSquared) {
+      hitRate += HIT_RATE_GAIN * (0.0 - hitRate);
+      if (++consecutiveRejects >= maxRejects) {
+        start(timestamp, tx, ty);
+        return true;
+      }
+      return false;
+    }
+
+    horizontal.correct(tx);
+    vertical.correct(ty);
+    consecutiveRejects = 0;
+    lastAcceptedTime = timestamp;
+    hitRate += HIT_RATE_GAIN * (1.0 - hitRate);
+    return true;
+  }
+
+  private void start(double timestamp, double tx, double ty) {
+    horizontal.reset(tx);
+    vertical.reset(ty);
+    tracking = true;
+    lastTime = timestamp;
+    lastAcceptedTime = timestamp;
+    consecutiveRejects = 0;
+    hitRate += HIT_RATE_GAIN * (1.0 - hitRate);
+  }
+
+  /** Drops the current track. */
+  public void reset() {
+    tracking = false;
+    consecutiveRejects = 0;
+    hitRate = 0.0;
+  }
+
+  /**
+   * Determines whether the tracker has a track that has been confirmed recently.
+   *
+   * @param timestamp the current time, in seconds
+   * @return true if a target is being tracked; otherwise, false
+   */
+  public boolean hasTarget(double timestamp) {
+    return tracking && timestamp - lastAcceptedTime <= staleTime;
+  }
+
+  /** @return the filtered horizontal angle at the last update, in degrees */
+  public double getTx() {
+    return horizontal.angle;
+  }
+
+  /** @return the filtered vertical angle at the last update, in degrees */
+  public double getTy() {
+    return vertical.angle;
+  }
+
+  /** @return the filtered horizontal angular rate, in degrees per second */
+  public double getTxRate() {
+    return horizontal.rate;
+  }
+
+  /** @return the filtered vertical angular rate, in degrees per second */
+  public double getTyRate() {
+    return vertical.rate;
+  }
+
+  /**
+   * Predicts the horizontal angle at a given time, such as the current loop time between frames.
+   *
+   * @param timestamp the time to predict at, in seconds
+   * @return the predicted horizontal angle, in degrees
+   */
+  public double predictTx(double timestamp) {
+    return horizontal.angle + horizontal.rate * (timestamp - lastTime);
+  }
+
+  /**
+   * Predicts the vertical angle at a given time.
+   *
+   * @param timestamp the time to predict at, in seconds
+   * @return the predicted vertical angle, in degrees
+   */
+  public double predictTy(double timestamp) {
+    return vertical.angle + vertical.rate * (timestamp - lastTime);
+  }
+
+  /**
+   * Estimates how much the current track can be trusted, combining the recent rate of accepted
+   * measurements with how long ago the track was last confirmed.
+   *
+   * @param timestamp the current time, in seconds
+   * @return the confidence, in [0, 1]
+   */
+  public double getConfidence(double timestamp) {
+    if (!tracking) {
+      return 0.0;
+    }
+    double age = Math.max(0.0, timestamp - lastAcceptedTime);
+    return hitRate * Math.max(0.0, 1.0 - age / staleTime);
+  }
+
+  /** @return the number of consecutive measurements rejected by the gate */
+  public int getConsecutiveRejects() {
+    return consecutiveRejects;
+  }
+
+  /** A constant-velocity Kalman filter over one angle, with its covariance stored inline. */
+  private static class Axis {
+    private final double accelerationVariance;
+    private final double measurementVariance;
+    private final double initialRateVariance;
+
+    private double angle;
+    private double rate;
+    private double p00;
+    private double p01;
+    private double p11;
+
+    private Axis(
+        double accelerationVariance, double measurementVariance, double initialRateVariance) {
+      this.accelerationVariance = accelerationVariance;
+      this.measurementVariance = measurementVariance;
+      this.initialRateVariance = initialRateVariance;
+    }
+
+    private void reset(double measurement) {
+      angle = measurement;
+      rate = 0.0;
+      p00 = measurementVariance;
+      p01 = 0.0;
+      p11 = initialRateVariance;
+    }
+
+    private void predict(double dt) {
+      angle += rate * dt;
+      double dt2 = dt * dt;
+      double q = accelerationVariance;
+      double n00 = p00 + 2 * dt * p01 + dt2 * p11 + q * dt2 * dt2 / 4;
+      double n01 = p01 + dt * p11 + q * dt2 * dt / 2;
+      double n11 = p11 + q * dt2;
+      p00 = n00;
+      p01 = n01;
+      p11 = n11;
+    }
+
+    /** Returns the squared innovation divided by its variance. */
+    private double normalizedInnovation(double measurement) {
+      double innovation = measurement - angle;
+      return innovation * innovation / (p00 + measurementVariance);
+    }
+
+    private void correct(double measurement) {
+      double innovation = measurement - angle;
+      double s = p00 + measurementVariance;
+      double k0 = p00 / s;
+      double k1 = p01 / s;
+      angle += k0 * innovation;
+      rate += k1 * innovation;
+      double n00 = (1 - k0) * p00;
+      double n01 = (1 - k0) * p01;
+      double n11 = p11 - k1 * p01;
+      p00 = n00;
+      p01 = n01;
+      p11 = n11;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.Utils;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.ArrayList;
+
+/**
+ * Measures how the status signals of every motor in the {@link MotorSignalRegistry} actually
+ * arrive. Over each window it counts, per signal, the refreshes that brought a new timestamp, and
+ * compares the measured rate against the signal's applied update frequency. A signal that is
+ * enabled but brings nothing new for a whole window is counted as stale. A summary per device and
+ * per bus is published to NetworkTables at the end of each window, alongside the bus utilization
+ * reported by Phoenix.
+ *
+ * <p>Signals are only observed when the registry refreshes them, so a signal's measured rate can
+ * never exceed the loop rate. A signal configured faster than the loop will read low even when no
+ * frames are missing; staleness is the better indicator of lost frames for such signals.
+ *
+ * @since 10/17/26
+ */
+public class CanMonitor {
+  /** The name of the table the summary is published under by default. */
+  public static final String DEFAULT_TABLE = "CAN Monitor";
+  /** The default length of a measurement window, in seconds. */
+  public static final double DEFAULT_WINDOW = 1.0;
+
+  private final NetworkTable table;
+  private final double window;
+  private final ArrayList<MotorSignals> motors = new ArrayList<>();
+  private final ArrayList<Device> devices = new ArrayList<>();
+  private final ArrayList<Bus> buses = new ArrayList<>();
+  private double windowStart = Double.NaN;
+
+  /** The counts of one motor at the start of the window, and its published summary. */
+  private static class Device {
+    private final MotorSignals signals;
+    private final int[] lastCounts;
+    private int lastRefreshCount;
+    private int staleCount;
+
+    private final DoublePublisher measured;
+    private final DoublePublisher configured;
+    private final DoublePublisher stale;
+    private final DoublePublisher totalStale;
+
+    private Device(MotorSignals signals, NetworkTable table) {
+      this.signals = signals;
+      lastCounts = new int[signals.getStatusSignals().length];
+      measured = table.getDoubleTopic("Measured Frames Per Second").publish();
+      configured = table.getDoubleTopic("Configured Frames Per Second").publish();
+      stale = table.getDoubleTopic("Stale Signals").publish();
+      totalStale = table.getDoubleTopic("Total Stale").publish();
+    }
+  }
+
+  /** The totals of one bus for the window, and its published summary. */
+  private static class Bus {
+    private final String name;
+    private double measured;
+    private double configured;
+    private int stale;
+
+    private final DoublePublisher measuredPublisher;
+    private final DoublePublisher configuredPublisher;
+    private final DoublePublisher stalePublisher;
+    private final DoublePublisher utilization;
+
+    private Bus(String name, NetworkTable table) {
+      this.name = name;
+      measuredPublisher = table.getDoubleTopic("Measured Frames Per Second").publish();
+      configuredPublisher = table.getDoubleTopic("Configured Frames Per Second").publish();
+      stalePublisher = table.getDoubleTopic("Stale Signals").publish();
+      utilization = table.getDoubleTopic("Utilization").publish();
+    }
+  }
+
+  /**
+   * Creates a monitor.
+   *
+   * @param table the table to publish to
+   * @param window the length of a measurement window, in seconds
+   */
+  public CanMonitor(NetworkTable table, double window) {
+    this.table = table;
+    this.window = window;
+  }
+
+  /** Creates a monitor with a one-second window under the {@value #DEFAULT_TABLE} table. */
+  public CanMonitor() {
+    this(NetworkTableInstance.getDefault().getTable(DEFAULT_TABLE), DEFAULT_WINDOW);
+  }
+
+  /**
+   * Closes the current window if it has elapsed. Call this once per loop, after {@link
+   * MotorSignalRegistry#refreshAll()}.
+   */
+  public void update() {
+    double now = Utils.getCurrentTimeSeconds();
+    if (Double.isNaN(windowStart)) {
+      windowStart = now;
+      sync();
+      return;
+    }
+    double elapsed = now - windowStart;
+    if (elapsed < window) {
+      return;
+    }
+    windowStart = now;
+    sync();
+    for (int i = 0; i < buses.size(); i++) {
+      Bus bus = buses.get(i);
+      bus.measured = 0;
+      bus.configured = 0;
+      bus.stale = 0;
+    }
+    for (int i = 0; i < devices.size(); i++) {
+      measure(devices.get(i), elapsed);
+    }
+    for (int i = 0; i < buses.size(); i++) {
+      Bus bus = buses.get(i);
+      bus.measuredPublisher.set(bus.measured);
+      bus.configuredPublisher.set(bus.configured);
+      bus.stalePublisher.set(bus.stale);
+      CANBus.CANBusStatus status = CANBus.getStatus(bus.name);
+      if (status.Status.isOK()) {
+        bus.utilization.set(status.BusUtilization);
+      }
+    }
+  }
+
+  private void measure(Device device, double elapsed) {
+    BaseStatusSignal[] signals = device.signals.getStatusSignals();
+    int refreshCount = device.signals.getRefreshCount();
+    double refreshRate = (refreshCount - device.lastRefreshCount) / elapsed;
+    device.lastRefreshCount = refreshCount;
+    double measured = 0;
+    double configured = 0;
+    int stale = 0;
+    for (int i = 0; i < signals.length; i++) {
+      int count = device.signals.getUpdateCount(i);
+      int updates = count - device.lastCounts[i];
+      device.lastCounts[i] = count;
+      double frequency = signals[i].getAppliedUpdateFrequency();
+      measured += updates / elapsed;
+      configured += frequency;
+      if (frequency > 0 && refreshRate > 0 && updates == 0) {
+        stale++;
+      }
+    }
+    device.staleCount += stale;
+    device.measured.set(measured);
+    device.configured.set(configured);
+    device.stale.set(stale);
+    device.totalStale.set(device.staleCount);
+
+    Bus bus = getBus(device.signals.getMotor().getNetwork());
+    bus.measured += measured;
+    bus.configured += configured;
+    bus.stale += stale;
+  }
+
+  /** Starts tracking motors registered since the last window. */
+  private void sync() {
+    MotorSignalRegistry.getAll(motors);
+    for (int i = 0; i < motors.size(); i++) {
+      MotorSignals signals = motors.get(i);
+      if (!isTracked(signals)) {
+        track(signals);
+      }
+    }
+  }
+
+  private boolean isTracked(MotorSignals signals) {
+    for (int i = 0; i < devices.size(); i++) {
+      if (devices.get(i).signals == signals) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void track(MotorSignals signals) {
+    String busName = signals.getMotor().getNetwork();
+    getBus(busName);
+    String id = String.valueOf(signals.getMotor().getDeviceID());
+    Device device = new Device(signals, table.getSubTable(busName).getSubTable(id));
+    device.lastRefreshCount = signals.getRefreshCount();
+    for (int i = 0; i < device.lastCounts.length; i++) {
+      device.lastCounts[i] = signals.getUpdateCount(i);
+    }
+    devices.add(device);
+  }
+
+  private Bus getBus(String name) {
+    for (int i = 0; i < buses.size(); i++) {
+      if (buses.get(i).name.equals(name)) {
+        return buses.get(i);
+      }
+    }
+    Bus bus = new Bus(name, table.getSubTable(name));
+    buses.add(bus);
+    return bus;
+  }
+}
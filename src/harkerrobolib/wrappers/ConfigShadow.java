@@ -0,0 +1,257 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.ErrorCode;
+import com.ctre.phoenix6.ParamEnum;
+import com.ctre.phoenix6.motorcontrol.StatorCurrentLimitConfiguration;
+import com.ctre.phoenix6.motorcontrol.SupplyCurrentLimitConfiguration;
+import edu.wpi.first.wpilibj.DriverStation;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Remembers the configuration values a motor wrapper has written, so that config getters can
+ * answer from memory instead of making a blocking round trip to the device. Values are keyed by
+ * parameter and ordinal (the slot index for gains), the same way the device stores them.
+ *
+ * <p>{@link #verify(DeviceReader, String)} compares the shadow against the device on a background
+ * thread and reports any value that has drifted, such as after a motor controller has been
+ * swapped or power cycled into different settings.
+ *
+ * @since 10/17/26
+ */
+public class ConfigShadow {
+  /** The relative difference below which a device value matches the shadow. */
+  private static final double TOLERANCE = 1e-3;
+
+  private static final ExecutorService verifier =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "ConfigShadow");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /**
+   * Reads a parameter directly from the device, bypassing the shadow. A read that fails, such as
+   * on a timeout, returns NaN so that it is not mistaken for a drifted value.
+   */
+  @FunctionalInterface
+  public interface DeviceReader {
+    double read(ParamEnum param, int ordinal);
+  }
+
+  private ParamEnum[] params = new ParamEnum[16];
+  private int[] ordinals = new int[16];
+  private double[] values = new double[16];
+  private int size;
+
+  private StatorCurrentLimitConfiguration stator;
+  private SupplyCurrentLimitConfiguration supply;
+  private volatile int driftCount;
+  private volatile int readFailureCount;
+
+  /**
+   * Records a value if the write that set it succeeded.
+   *
+   * @param result the result of the write
+   * @param param the parameter written
+   * @param ordinal the ordinal written, such as the slot index
+   * @param value the value written
+   * @return the result of the write
+   */
+  public synchronized ErrorCode record(
+      ErrorCode result, ParamEnum param, int ordinal, double value) {
+    if (result != ErrorCode.OK) {
+      return result;
+    }
+    int index = indexOf(param, ordinal);
+    if (index < 0) {
+      if (size == params.length) {
+        params = Arrays.copyOf(params, 2 * size);
+        ordinals = Arrays.copyOf(ordinals, 2 * size);
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      index = size++;
+      params[index] = param;
+      ordinals[index] = ordinal;
+    }
+    values[index] = value;
+    return result;
+  }
+
+  /**
+   * Determines whether a value has been recorded.
+   *
+   * @param param the parameter
+   * @param ordinal the ordinal, such as the slot index
+   * @return true if the parameter has been written through the wrapper; otherwise, false
+   */
+  public synchronized boolean has(ParamEnum param, int ordinal) {
+    return indexOf(param, ordinal) >= 0;
+  }
+
+  /**
+   * Returns a recorded value.
+   *
+   * @param param the parameter
+   * @param ordinal the ordinal, such as the slot index
+   * @return the value last written, or NaN if it has not been written
+   */
+  public synchronized double get(ParamEnum param, int ordinal) {
+    int index = indexOf(param, ordinal);
+    return index >= 0 ? values[index] : Double.NaN;
+  }
+
+  private int indexOf(ParamEnum param, int ordinal) {
+    for (int i = 0; i < size; i++) {
+      if (params[i] == param && ordinals[i] == ordinal) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Forgets every recorded value, such as after the device is reset to its factory defaults. */
+  public synchronized void clear() {
+    size = 0;
+    stator = null;
+    supply = null;
+  }
+
+  /**
+   * Records a stator current limit if the write that set it succeeded.
+   *
+   * @param result the result of the write
+   * @param limit the limit written
+   * @return the result of the write
+   */
+  public synchronized ErrorCode record(ErrorCode result, StatorCurrentLimitConfiguration limit) {
+    if (result == ErrorCode.OK) {
+      stator = new StatorCurrentLimitConfiguration();
+      copy(limit, stator);
+    }
+    return result;
+  }
+
+  /**
+   * Records a supply current limit if the write that set it succeeded.
+   *
+   * @param result the result of the write
+   * @param limit the limit written
+   * @return the result of the write
+   */
+  public synchronized ErrorCode record(ErrorCode result, SupplyCurrentLimitConfiguration limit) {
+    if (result == ErrorCode.OK) {
+      supply = new SupplyCurrentLimitConfiguration();
+      copy(limit, supply);
+    }
+    return result;
+  }
+
+  /**
+   * Fills in the stator current limit last written.
+   *
+   * @param toFill the configuration to fill
+   * @return true if a limit has been written and was copied; otherwise, false
+   */
+  public synchronized boolean fill(StatorCurrentLimitConfiguration toFill) {
+    if (stator == null) {
+      return false;
+    }
+    copy(stator, toFill);
+    return true;
+  }
+
+  /**
+   * Fills in the supply current limit last written.
+   *
+   * @param toFill the configuration to fill
+   * @return true if a limit has been written and was copied; otherwise, false
+   */
+  public synchronized boolean fill(SupplyCurrentLimitConfiguration toFill) {
+    if (supply == null) {
+      return false;
+    }
+    copy(supply, toFill);
+    return true;
+  }
+
+  private static void copy(
+      StatorCurrentLimitConfiguration from, StatorCurrentLimitConfiguration to) {
+    to.enable = from.enable;
+    to.currentLimit = from.currentLimit;
+    to.triggerThresholdCurrent = from.triggerThresholdCurrent;
+    to.triggerThresholdTime = from.triggerThresholdTime;
+  }
+
+  private static void copy(
+      SupplyCurrentLimitConfiguration from, SupplyCurrentLimitConfiguration to) {
+    to.enable = from.enable;
+    to.currentLimit = from.currentLimit;
+    to.triggerThresholdCurrent = from.triggerThresholdCurrent;
+    to.triggerThresholdTime = from.triggerThresholdTime;
+  }
+
+  /**
+   * Compares every recorded parameter against the device on a background thread, reporting each
+   * one that differs as a Driver Station warning. Parameters that could not be read are not counted
+   * as drift; they are counted by {@link #getReadFailureCount()} and reported in one warning.
+   *
+   * @param reader reads a parameter directly from the device
+   * @param name the name of the motor, used in warnings
+   * @return the number of parameters that differ, once the pass completes
+   */
+  public Future<Integer> verify(DeviceReader reader, String name) {
+    return verifier.submit(
+        () -> {
+          ParamEnum[] checkedParams;
+          int[] checkedOrdinals;
+          double[] expected;
+          synchronized (this) {
+            checkedParams = Arrays.copyOf(params, size);
+            checkedOrdinals = Arrays.copyOf(ordinals, size);
+            expected = Arrays.copyOf(values, size);
+          }
+          int drifted = 0;
+          int failed = 0;
+          for (int i = 0; i < checkedParams.length; i++) {
+            double actual = reader.read(checkedParams[i], checkedOrdinals[i]);
+            if (Double.isNaN(actual)) {
+              failed++;
+              continue;
+            }
+            double tolerance = TOLERANCE * Math.max(1.0, Math.abs(expected[i]));
+            if (Math.abs(actual - expected[i]) > tolerance) {
+              drifted++;
+              DriverStation.reportWarning(
+                  String.format(
+                      "%s: %s[%d] is %f on the device but %f was written",
+                      name, checkedParams[i], checkedOrdinals[i], actual, expected[i]),
+                  false);
+            }
+          }
+          if (failed > 0) {
+            DriverStation.reportWarning(
+                String.format(
+                    "%s: %d of %d parameters could not be read to verify",
+                    name, failed, checkedParams.length),
+                false);
+          }
+          driftCount = drifted;
+          readFailureCount = failed;
+          return drifted;
+        });
+  }
+
+  /** @return the number of parameters that differed in the last completed verification pass */
+  public int getDriftCount() {
+    return driftCount;
+  }
+
+  /** @return the number of parameters that could not be read in the last completed pass */
+  public int getReadFailureCount() {
+    return readFailureCount;
+  }
+}
@@ -0,0 +1,155 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+import com.ctre.phoenix6.controls.MotionMagicVoltage;
+import com.ctre.phoenix6.controls.NeutralOut;
+import com.ctre.phoenix6.controls.PositionVoltage;
+import com.ctre.phoenix6.controls.VelocityVoltage;
+import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+/**
+ * Commands a Talon FX through one preallocated instance of each Phoenix 6 control request. Every
+ * call mutates the matching request in place and sends it, so commanding a motor every loop
+ * creates no garbage. Create one per motor and keep it for the life of the robot program.
+ *
+ * @since 10/17/26
+ */
+public class ControlRequests {
+  private final TalonFX motor;
+
+  private final VoltageOut voltage = new VoltageOut(0);
+  private final DutyCycleOut dutyCycle = new DutyCycleOut(0);
+  private final PositionVoltage position = new PositionVoltage(0);
+  private final VelocityVoltage velocity = new VelocityVoltage(0);
+  private final MotionMagicVoltage motionMagic = new MotionMagicVoltage(0);
+  private final NeutralOut neutral = new NeutralOut();
+
+  /**
+   * Creates the requests for a motor.
+   *
+   * @param motor the motor to command
+   */
+  public ControlRequests(TalonFX motor) {
+    this.motor = motor;
+  }
+
+  /** @return the motor these requests command */
+  public TalonFX getMotor() {
+    return motor;
+  }
+
+  /**
+   * Sets whether the requests use field oriented control, which requires a Phoenix Pro license.
+   *
+   * @param enable true to use field oriented control
+   * @return these requests, for chaining
+   */
+  public ControlRequests withEnableFOC(boolean enable) {
+    voltage.withEnableFOC(enable);
+    dutyCycle.withEnableFOC(enable);
+    position.withEnableFOC(enable);
+    velocity.withEnableFOC(enable);
+    motionMagic.withEnableFOC(enable);
+    return this;
+  }
+
+  /**
+   * Commands an output voltage.
+   *
+   * @param volts the voltage to apply
+   * @return the status of the request
+   */
+  public StatusCode setVoltage(double volts) {
+    return motor.setControl(voltage.withOutput(volts));
+  }
+
+  /**
+   * Commands a fraction of the supply voltage.
+   *
+   * @param output the output, from -1 to 1
+   * @return the status of the request
+   */
+  public StatusCode setDutyCycle(double output) {
+    return motor.setControl(dutyCycle.withOutput(output));
+  }
+
+  /**
+   * Commands a position with the device's closed loop.
+   *
+   * @param rotations the target position, in rotations
+   * @param feedForward the voltage to add to the closed-loop output
+   * @param slot the gain slot to use
+   * @return the status of the request
+   */
+  public StatusCode setPosition(double rotations, double feedForward, int slot) {
+    return motor.setControl(
+        position.withPosition(rotations).withFeedForward(feedForward).withSlot(slot));
+  }
+
+  /**
+   * Commands a position with the device's closed loop, using slot 0 and no feedforward.
+   *
+   * @param rotations the target position, in rotations
+   * @return the status of the request
+   */
+  public StatusCode setPosition(double rotations) {
+    return setPosition(rotations, 0, 0);
+  }
+
+  /**
+   * Commands a velocity with the device's closed loop.
+   *
+   * @param rotationsPerSecond the target velocity, in rotations per second
+   * @param feedForward the voltage to add to the closed-loop output
+   * @param slot the gain slot to use
+   * @return the status of the request
+   */
+  public StatusCode setVelocity(double rotationsPerSecond, double feedForward, int slot) {
+    return motor.setControl(
+        velocity.withVelocity(rotationsPerSecond).withFeedForward(feedForward).withSlot(slot));
+  }
+
+  /**
+   * Commands a velocity with the device's closed loop, using slot 0 and no feedforward.
+   *
+   * @param rotationsPerSecond the target velocity, in rotations per second
+   * @return the status of the request
+   */
+  public StatusCode setVelocity(double rotationsPerSecond) {
+    return setVelocity(rotationsPerSecond, 0, 0);
+  }
+
+  /**
+   * Commands a Motion Magic profile to a position.
+   *
+   * @param rotations the target position, in rotations
+   * @param feedForward the voltage to add to the closed-loop output
+   * @param slot the gain slot to use
+   * @return the status of the request
+   */
+  public StatusCode setMotionMagic(double rotations, double feedForward, int slot) {
+    return motor.setControl(
+        motionMagic.withPosition(rotations).withFeedForward(feedForward).withSlot(slot));
+  }
+
+  /**
+   * Commands a Motion Magic profile to a position, using slot 0 and no feedforward.
+   *
+   * @param rotations the target position, in rotations
+   * @return the status of the request
+   */
+  public StatusCode setMotionMagic(double rotations) {
+    return setMotionMagic(rotations, 0, 0);
+  }
+
+  /**
+   * Commands the motor to its neutral mode.
+   *
+   * @return the status of the request
+   */
+  public StatusCode setNeutral() {
+    return motor.setControl(neutral);
+  }
+}
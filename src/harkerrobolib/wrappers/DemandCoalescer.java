@@ -0,0 +1,114 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.motorcontrol.ControlMode;
+import com.ctre.phoenix6.motorcontrol.DemandType;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Suppresses motor demands that repeat the last one sent. A demand is sent only when its control
+ * mode or demand type changes, when either demand value moves by more than an epsilon, or when the
+ * keep-alive period has passed since the last demand was sent, so that a command calling {@code
+ * set} every loop with an unchanged value does not produce a control frame every loop.
+ *
+ * <p>A wrapper that implements {@code MotorSafety} must still feed its watchdog on suppressed
+ * demands. Where it cannot, the keep-alive period must be below the safety expiration, or a motor
+ * held at a constant demand will be tripped.
+ *
+ * @since 10/17/26
+ */
+public class DemandCoalescer {
+  /** The default change in a demand below which it is suppressed. */
+  public static final double DEFAULT_EPSILON = 1e-4;
+  /** The default longest time between sent demands, in seconds. */
+  public static final double DEFAULT_KEEP_ALIVE = 0.1;
+
+  private final double epsilon;
+  private final double keepAlive;
+
+  private boolean hasLast;
+  private ControlMode lastMode;
+  private DemandType lastDemandType;
+  private double lastDemand0;
+  private double lastDemand1;
+  private double lastSentTime;
+
+  private int sent;
+  private int suppressed;
+
+  /**
+   * Creates a coalescer.
+   *
+   * @param epsilon the change in a demand below which it is suppressed
+   * @param keepAlive the longest time between sent demands, in seconds
+   */
+  public DemandCoalescer(double epsilon, double keepAlive) {
+    this.epsilon = epsilon;
+    this.keepAlive = keepAlive;
+  }
+
+  /** Creates a coalescer with the default epsilon and keep-alive period. */
+  public DemandCoalescer() {
+    this(DEFAULT_EPSILON, DEFAULT_KEEP_ALIVE);
+  }
+
+  /**
+   * Decides whether a demand should be sent, and records it as the last sent demand if so.
+   *
+   * @param mode the control mode
+   * @param demand0 the primary demand
+   * @param demand1Type the type of the auxiliary demand
+   * @param demand1 the auxiliary demand
+   * @return true if the demand should be sent; otherwise, false
+   */
+  public boolean shouldSend(
+      ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+    double now = Timer.getFPGATimestamp();
+    if (hasLast
+        && mode == lastMode
+        && demand1Type == lastDemandType
+        && Math.abs(demand0 - lastDemand0) <= epsilon
+        && Math.abs(demand1 - lastDemand1) <= epsilon
+        && now - lastSentTime < keepAlive) {
+      suppressed++;
+      return false;
+    }
+    hasLast = true;
+    lastMode = mode;
+    lastDemandType = demand1Type;
+    lastDemand0 = demand0;
+    lastDemand1 = demand1;
+    lastSentTime = now;
+    sent++;
+    return true;
+  }
+
+  /**
+   * Forgets the last sent demand, so the next demand is always sent. Wrappers call this whenever
+   * the control mode is changed outside {@code set}, such as by {@code neutralOutput} or {@code
+   * follow}.
+   */
+  public void invalidate() {
+    hasLast = false;
+  }
+
+  /** @return the longest time between sent demands, in seconds */
+  public double getKeepAlive() {
+    return keepAlive;
+  }
+
+  /** @return the number of demands sent */
+  public int getSentCount() {
+    return sent;
+  }
+
+  /** @return the number of demands suppressed */
+  public int getSuppressedCount() {
+    return suppressed;
+  }
+
+  /** Resets the sent and suppressed counts. */
+  public void resetCounts() {
+    sent = 0;
+    suppressed = 0;
+  }
+}
@@ -1,11 +1,21 @@
 package harkerrobolib.wrappers;
 
 import com.ctre.phoenix6.ErrorCode;
+import com.ctre.phoenix6.ParamEnum;
+import com.ctre.phoenix6.motorcontrol.ControlMode;
+import com.ctre.phoenix6.motorcontrol.DemandType;
 import com.ctre.phoenix6.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix6.motorcontrol.FollowerType;
+import com.ctre.phoenix6.motorcontrol.IMotorController;
 import com.ctre.phoenix6.motorcontrol.RemoteFeedbackDevice;
+import com.ctre.phoenix6.motorcontrol.StatorCurrentLimitConfiguration;
+import com.ctre.phoenix6.motorcontrol.SupplyCurrentLimitConfiguration;
 import com.ctre.phoenix6.motorcontrol.can.WPI_TalonFX;
 import edu.wpi.first.util.sendable.SendableBuilder;
 import harkerrobolib.util.Constants;
+import harkerrobolib.wrappers.MotorTelemetry.Field;
+import java.util.concurrent.Future;
+import java.util.function.DoubleSupplier;
 
 /**
  * Wraps a standard TalonSRX.
@@ -14,6 +24,16 @@ import harkerrobolib.util.Constants;
  * @author Ada Praun-Petrovic
  */
 public class HSFalcon extends WPI_TalonFX implements HSMotorController {
+  /** The number of raw integrated sensor units in one rotation of the rotor. */
+  public static final double TICKS_PER_ROTATION = 2048;
+
+  private final String busId;
+  private MotorSignals signals;
+  private int signalsGeneration = -1;
+  private DemandCoalescer coalescer;
+  private final ConfigShadow shadow = new ConfigShadow();
+  private SlotGainCache gainCache;
+  private boolean integratedSensor = true;
 
   /**
    * Constructs a TalonSRXWrapper with the default timeout {{@link Constants#DEFAULT_TIMEOUT}.
@@ -31,25 +51,464 @@ public class HSFalcon extends WPI_TalonFX implements HSMotorController {
    */
   public HSFalcon(final int deviceNumber, String busId) {
     super(deviceNumber, busId);
+    this.busId = busId;
+  }
+
+  /**
+   * Returns the cached signal snapshot registered for this motor's device ID and CAN bus. A failed
+   * lookup is only repeated after another motor is registered.
+   *
+   * @return the snapshot, or null if no motor with this ID and bus is registered
+   */
+  @Override
+  public MotorSignals getSignals() {
+    if (signals == null) {
+      int generation = MotorSignalRegistry.getGeneration();
+      if (generation != signalsGeneration) {
+        signalsGeneration = generation;
+        signals = MotorSignalRegistry.get(getDeviceID(), busId);
+      }
+    }
+    return signals;
+  }
+
+  /**
+   * Determines whether the getters can be served from the cached snapshot. A registered snapshot
+   * that {@link MotorSignalRegistry#refreshAll()} has not refreshed recently is not {@link
+   * MotorSignals#isFresh() fresh}, so the device is read instead of serving zeros or stale values.
+   */
+  private boolean hasSnapshot() {
+    return getSignals() != null && signals.isFresh();
+  }
+
+  /**
+   * Enables or disables demand coalescing. While enabled, calls to {@code set} that repeat the last
+   * demand sent are suppressed until the coalescer's keep-alive period passes. Suppressed calls
+   * still feed the motor safety watchdog.
+   *
+   * @param coalescer the coalescer to use, or null to send every demand
+   */
+  public void setDemandCoalescer(DemandCoalescer coalescer) {
+    this.coalescer = coalescer;
+  }
+
+  @Override
+  public DemandCoalescer getDemandCoalescer() {
+    return coalescer;
+  }
+
+  @Override
+  public synchronized SlotGainCache getSlotGainCache() {
+    if (gainCache == null) {
+      gainCache = new SlotGainCache(this);
+    }
+    return gainCache;
+  }
+
+  @Override
+  public void set(ControlMode mode, double outputValue) {
+    set(mode, outputValue, DemandType.Neutral, 0);
+  }
+
+  @Override
+  public void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+    if (coalescer == null || coalescer.shouldSend(mode, demand0, demand1Type, demand1)) {
+      super.set(mode, demand0, demand1Type, demand1);
+    } else {
+      feed();
+    }
+  }
+
+  @Override
+  public void neutralOutput() {
+    if (coalescer != null) {
+      coalescer.invalidate();
+    }
+    super.neutralOutput();
+  }
+
+  @Override
+  public void follow(IMotorController masterToFollow, FollowerType followerType) {
+    if (coalescer != null) {
+      coalescer.invalidate();
+    }
+    super.follow(masterToFollow, followerType);
+  }
+
+  @Override
+  public void follow(IMotorController masterToFollow) {
+    if (coalescer != null) {
+      coalescer.invalidate();
+    }
+    super.follow(masterToFollow);
+  }
+
+  @Override
+  public ConfigShadow getConfigShadow() {
+    return shadow;
+  }
+
+  /**
+   * Compares every configuration value written through this wrapper against the device on a
+   * background thread, reporting drifted values as Driver Station warnings. Values that cannot be
+   * read, such as while the device is disconnected, are reported separately rather than as drift.
+   *
+   * @return the number of values that differ, once the pass completes
+   */
+  public Future<Integer> verifyConfig() {
+    return shadow.verify(this::readDeviceParameter, "HSFalcon " + getDeviceID());
+  }
+
+  /** Reads a parameter from the device, returning NaN if the read fails. */
+  private double readDeviceParameter(ParamEnum param, int ordinal) {
+    double value = super.configGetParameter(param, ordinal, Constants.DEFAULT_TIMEOUT);
+    return getLastError() == ErrorCode.OK ? value : Double.NaN;
+  }
+
+  /** Forgets every shadowed configuration value, since the device no longer holds them. */
+  @Override
+  public ErrorCode configFactoryDefault(int timeoutMs) {
+    shadow.clear();
+    return super.configFactoryDefault(timeoutMs);
+  }
+
+  @Override
+  public ErrorCode configFactoryDefault() {
+    shadow.clear();
+    return super.configFactoryDefault();
+  }
+
+  @Override
+  public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    return shadow.record(
+        super.configOpenloopRamp(secondsFromNeutralToFull, timeoutMs),
+        ParamEnum.eOpenloopRamp,
+        0,
+        secondsFromNeutralToFull);
+  }
+
+  @Override
+  public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    return shadow.record(
+        super.configClosedloopRamp(secondsFromNeutralToFull, timeoutMs),
+        ParamEnum.eClosedloopRamp,
+        0,
+        secondsFromNeutralToFull);
+  }
+
+  @Override
+  public ErrorCode configPeakOutputForward(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configPeakOutputForward(percentOut, timeoutMs),
+        ParamEnum.ePeakPosOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configPeakOutputReverse(percentOut, timeoutMs),
+        ParamEnum.ePeakNegOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configNominalOutputForward(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configNominalOutputForward(percentOut, timeoutMs),
+        ParamEnum.eNominalPosOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configNominalOutputReverse(percentOut, timeoutMs),
+        ParamEnum.eNominalNegOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configNeutralDeadband(double percentDeadband, int timeoutMs) {
+    return shadow.record(
+        super.configNeutralDeadband(percentDeadband, timeoutMs),
+        ParamEnum.eNeutralDeadband,
+        0,
+        percentDeadband);
+  }
+
+  @Override
+  public ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+    return shadow.record(
+        super.configVoltageCompSaturation(voltage, timeoutMs),
+        ParamEnum.eNominalBatteryVoltage,
+        0,
+        voltage);
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitThreshold(double forwardSensorLimit, int timeoutMs) {
+    return shadow.record(
+        super.configForwardSoftLimitThreshold(forwardSensorLimit, timeoutMs),
+        ParamEnum.eForwardSoftLimitThreshold,
+        0,
+        forwardSensorLimit);
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitThreshold(double reverseSensorLimit, int timeoutMs) {
+    return shadow.record(
+        super.configReverseSoftLimitThreshold(reverseSensorLimit, timeoutMs),
+        ParamEnum.eReverseSoftLimitThreshold,
+        0,
+        reverseSensorLimit);
+  }
+
+  @Override
+  public ErrorCode configMotionCruiseVelocity(double sensorUnitsPer100ms, int timeoutMs) {
+    return shadow.record(
+        super.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs),
+        ParamEnum.eMotMag_VelCruise,
+        0,
+        sensorUnitsPer100ms);
+  }
+
+  @Override
+  public ErrorCode configMotionAcceleration(double sensorUnitsPer100msPerSec, int timeoutMs) {
+    return shadow.record(
+        super.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs),
+        ParamEnum.eMotMag_Accel,
+        0,
+        sensorUnitsPer100msPerSec);
+  }
+
+  @Override
+  public ErrorCode config_kP(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kP(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_P, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kI(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kI(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_I, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kD(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kD(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_D, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kF(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kF(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_F, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_IntegralZone(int slotIdx, double izone, int timeoutMs) {
+    return shadow.record(
+        super.config_IntegralZone(slotIdx, izone, timeoutMs),
+        ParamEnum.eProfileParamSlot_IZone,
+        slotIdx,
+        izone);
+  }
+
+  @Override
+  public ErrorCode configSetParameter(
+      ParamEnum param, double value, int subValue, int ordinal, int timeoutMs) {
+    return shadow.record(
+        super.configSetParameter(param, value, subValue, ordinal, timeoutMs),
+        param,
+        ordinal,
+        value);
+  }
+
+  /** Answers from the configuration shadow if the parameter was written through this wrapper. */
+  @Override
+  public double configGetParameter(ParamEnum param, int ordinal, int timeoutMs) {
+    if (shadow.has(param, ordinal)) {
+      return shadow.get(param, ordinal);
+    }
+    return super.configGetParameter(param, ordinal, timeoutMs);
+  }
+
+  @Override
+  public ErrorCode configStatorCurrentLimit(
+      StatorCurrentLimitConfiguration currLimitCfg, int timeoutMs) {
+    return shadow.record(super.configStatorCurrentLimit(currLimitCfg, timeoutMs), currLimitCfg);
+  }
+
+  @Override
+  public ErrorCode configSupplyCurrentLimit(
+      SupplyCurrentLimitConfiguration currLimitCfg, int timeoutMs) {
+    return shadow.record(super.configSupplyCurrentLimit(currLimitCfg, timeoutMs), currLimitCfg);
+  }
+
+  /** Answers from the configuration shadow if a limit was written through this wrapper. */
+  @Override
+  public ErrorCode configGetStatorCurrentLimit(
+      StatorCurrentLimitConfiguration currLimitConfigsToFill, int timeoutMs) {
+    if (shadow.fill(currLimitConfigsToFill)) {
+      return ErrorCode.OK;
+    }
+    return super.configGetStatorCurrentLimit(currLimitConfigsToFill, timeoutMs);
+  }
+
+  /** Answers from the configuration shadow if a limit was written through this wrapper. */
+  @Override
+  public ErrorCode configGetSupplyCurrentLimit(
+      SupplyCurrentLimitConfiguration currLimitConfigsToFill, int timeoutMs) {
+    if (shadow.fill(currLimitConfigsToFill)) {
+      return ErrorCode.OK;
+    }
+    return super.configGetSupplyCurrentLimit(currLimitConfigsToFill, timeoutMs);
   }
 
   @Override
   public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice, int pidIdx) {
+    if (pidIdx == Constants.PID_PRIMARY) {
+      integratedSensor = false;
+    }
     return super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, Constants.DEFAULT_TIMEOUT);
   }
 
   @Override
   public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx) {
+    if (pidIdx == Constants.PID_PRIMARY) {
+      integratedSensor = feedbackDevice == FeedbackDevice.IntegratedSensor;
+    }
     return super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, Constants.DEFAULT_TIMEOUT);
   }
 
+  /**
+   * Returns the sensor position, in raw sensor units. If the snapshot is fresh and the primary
+   * sensor is the integrated sensor, the cached snapshot is converted at {@value
+   * #TICKS_PER_ROTATION} units per rotation instead of reading the device.
+   */
+  @Override
+  public double getSelectedSensorPosition(int pidIdx) {
+    if (pidIdx == Constants.PID_PRIMARY && usesSnapshot()) {
+      return signals.getSelectedSensorPosition() * TICKS_PER_ROTATION;
+    }
+    return super.getSelectedSensorPosition(pidIdx);
+  }
+
+  @Override
+  public double getSelectedSensorPosition() {
+    return getSelectedSensorPosition(Constants.PID_PRIMARY);
+  }
+
+  /**
+   * Returns the sensor velocity, in raw sensor units per 100 ms. If the snapshot is fresh and
+   * the primary sensor is the integrated sensor, the cached snapshot is converted instead of
+   * reading the device.
+   */
+  @Override
+  public double getSelectedSensorVelocity(int pidIdx) {
+    if (pidIdx == Constants.PID_PRIMARY && usesSnapshot()) {
+      return signals.getSelectedSensorVelocity() * TICKS_PER_ROTATION / 10;
+    }
+    return super.getSelectedSensorVelocity(pidIdx);
+  }
+
+  @Override
+  public double getSelectedSensorVelocity() {
+    return getSelectedSensorVelocity(Constants.PID_PRIMARY);
+  }
+
+  /** Returns the stator current, in amps, from the cached snapshot if it is fresh. */
+  @Override
+  public double getStatorCurrent() {
+    return hasSnapshot() ? signals.getStatorCurrent() : super.getStatorCurrent();
+  }
+
+  /** Returns the supply current, in amps, from the cached snapshot if it is fresh. */
+  @Override
+  public double getSupplyCurrent() {
+    return hasSnapshot() ? signals.getSupplyCurrent() : super.getSupplyCurrent();
+  }
+
+  /** Returns the output voltage, in volts, from the cached snapshot if it is fresh. */
+  @Override
+  public double getMotorOutputVoltage() {
+    return hasSnapshot() ? signals.getMotorOutputVoltage() : super.getMotorOutputVoltage();
+  }
+
+  /** Returns the supply voltage, in volts, from the cached snapshot if it is fresh. */
+  @Override
+  public double getBusVoltage() {
+    return hasSnapshot() ? signals.getBusVoltage() : super.getBusVoltage();
+  }
+
+  /**
+   * Returns the controller temperature, in degrees Celsius, from the cached snapshot if it is
+   * fresh.
+   */
+  @Override
+  public double getTemperature() {
+    return hasSnapshot() ? signals.getTemperature() : super.getTemperature();
+  }
+
+  /**
+   * Estimates the integrated sensor position at the current time, in raw sensor units. Falls back
+   * to the uncompensated position if this motor is not registered or its primary sensor is not the
+   * integrated sensor.
+   *
+   * @return the estimated current position
+   */
+  @Override
+  public double getCompensatedPosition() {
+    if (!usesSnapshot()) {
+      return getSelectedSensorPosition();
+    }
+    return signals.getCompensatedPosition() * TICKS_PER_ROTATION;
+  }
+
+  @Override
+  public boolean isPositionCompensated() {
+    return usesSnapshot();
+  }
+
+  /** Determines whether the primary sensor can be read from the cached snapshot. */
+  private boolean usesSnapshot() {
+    return integratedSensor && hasSnapshot();
+  }
+
+  /**
+   * Reports this motor's state to the dashboard, in the same units as the getters above. Each
+   * property is read at the decimation and deadband {@link MotorTelemetry} uses for the same
+   * field, so dashboard updates do not read every value every loop. Sensor units are named in the
+   * keys, since {@link MotorTelemetry} publishes the same fields in Phoenix 6 units.
+   */
   public void initSendable(SendableBuilder builder) {
     builder.setSmartDashboardType("HSFalcon");
-    builder.addDoubleProperty("Output Voltage", () -> getMotorOutputVoltage(), null);
-    builder.addDoubleProperty("Supply Current", () -> getSupplyCurrent(), null);
-    builder.addDoubleProperty("Stator Current", () -> getStatorCurrent(), null);
-    builder.addDoubleProperty("Encoder Velocity", () -> getSelectedSensorVelocity(), null);
-    builder.addDoubleProperty("Encoder Position", () -> getSelectedSensorPosition(), null);
-    builder.addDoubleProperty("Temperature", () -> getTemperature(), null);
+    builder.addDoubleProperty(
+        "Output Voltage", throttle(Field.OUTPUT_VOLTAGE, this::getMotorOutputVoltage, 1), null);
+    builder.addDoubleProperty(
+        "Supply Current", throttle(Field.SUPPLY_CURRENT, this::getSupplyCurrent, 1), null);
+    builder.addDoubleProperty(
+        "Stator Current", throttle(Field.STATOR_CURRENT, this::getStatorCurrent, 1), null);
+    builder.addDoubleProperty(
+        "Encoder Velocity (ticks per 100ms)",
+        throttle(Field.ENCODER_VELOCITY, this::getSelectedSensorVelocity, TICKS_PER_ROTATION / 10),
+        null);
+    builder.addDoubleProperty(
+        "Encoder Position (ticks)",
+        throttle(Field.ENCODER_POSITION, this::getSelectedSensorPosition, TICKS_PER_ROTATION),
+        null);
+    builder.addDoubleProperty(
+        "Temperature", throttle(Field.TEMPERATURE, this::getTemperature, 1), null);
+  }
+
+  /** Rate-limits a dashboard property, scaling the field's deadband into this wrapper's units. */
+  private static DoubleSupplier throttle(Field field, DoubleSupplier getter, double scale) {
+    return MotorTelemetry.throttle(
+        getter, field.getDefaultDecimation(), field.getDefaultDeadband() * scale);
   }
 }
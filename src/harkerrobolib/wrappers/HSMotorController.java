@@ -485,10 +485,108 @@ public interface HSMotorController extends IMotorController {
   int isRevLimitSwitchClosed();
 
   /**
-   * Checks if the motor is stalling.
+   * Returns the cached signal snapshot for this motor, refreshed by {@link
+   * MotorSignalRegistry#refreshAll()}.
    *
-   * @param stallCurrent minimum current indicating stall
-   * @param stallMinVelocity minimum velocity indicating stall
+   * @return the snapshot, or null if this motor is not registered
+   */
+  public default MotorSignals getSignals() {
+    return null;
+  }
+
+  /**
+   * Estimates the sensor position at the current time by extrapolating the cached position with
+   * the cached velocity over the time since it was measured. The result is in the same raw sensor
+   * units as {@link #getSelectedSensorPosition()}.
+   *
+   * <p>Compensation needs the measurement timestamps of a cached signal snapshot, so it is only
+   * available for wrappers that keep one and are registered with {@link MotorSignalRegistry}.
+   * Otherwise this returns the uncompensated {@link #getSelectedSensorPosition()}, in the same
+   * units; {@link #isPositionCompensated()} tells the two apart.
+   *
+   * @return the estimated current position, in raw sensor units
+   */
+  public default double getCompensatedPosition() {
+    return getSelectedSensorPosition();
+  }
+
+  /**
+   * Determines whether {@link #getCompensatedPosition()} extrapolates to the current time, rather
+   * than returning the last reported position.
+   *
+   * @return true if the position is latency compensated; otherwise, false
+   */
+  public default boolean isPositionCompensated() {
+    return false;
+  }
+
+  /**
+   * Returns the time the cached position was measured.
+   *
+   * @return the timestamp, in seconds, or NaN if this motor is not registered
+   */
+  public default double getPositionTimestamp() {
+    MotorSignals signals = getSignals();
+    return signals != null ? signals.getPositionTimestamp() : Double.NaN;
+  }
+
+  /**
+   * Returns the time the cached velocity was measured.
+   *
+   * @return the timestamp, in seconds, or NaN if this motor is not registered
+   */
+  public default double getVelocityTimestamp() {
+    MotorSignals signals = getSignals();
+    return signals != null ? signals.getVelocityTimestamp() : Double.NaN;
+  }
+
+  /**
+   * Returns the record of configuration values written through this wrapper, which config getters
+   * answer from instead of reading the device.
+   *
+   * @return the shadow, or null if this wrapper does not keep one
+   */
+  public default ConfigShadow getConfigShadow() {
+    return null;
+  }
+
+  /**
+   * Returns the coalescer that suppresses demands repeating the last one sent, if demand
+   * coalescing is enabled for this motor.
+   *
+   * @return the coalescer, or null if every demand is sent
+   */
+  public default DemandCoalescer getDemandCoalescer() {
+    return null;
+  }
+
+  /**
+   * Returns the cache that applies live-tuned gains at a bounded rate. Implementations create it on
+   * first use, so motors that are never tuned do not schedule a writer task.
+   *
+   * @return the cache
+   */
+  SlotGainCache getSlotGainCache();
+
+  /**
+   * Queues the gains of a slot that changed since the last update, to be written in the background
+   * by {@link #getSlotGainCache()}. Returns immediately, so it can be called every loop while
+   * tuning.
+   *
+   * @param slot the gains
+   * @param slotIdx the slot to apply them to
+   * @return the number of parameters queued
+   */
+  public default int updateSlotGains(SlotConfiguration slot, int slotIdx) {
+    return getSlotGainCache().update(slot, slotIdx);
+  }
+
+  /**
+   * Checks if the motor is stalling. Uses the wrapper's getters, which read from the cached signal
+   * snapshot when the wrapper supports it, so the units are the same either way.
+   *
+   * @param stallCurrent minimum current indicating stall, in amps
+   * @param stallMinVelocity minimum velocity indicating stall, in raw sensor units per 100 ms
    * @return true if motor is stalling; otherwise false
    */
   public default boolean isStalling(double stallCurrent, double stallMinVelocity) {
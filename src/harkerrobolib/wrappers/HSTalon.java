@@ -1,7 +1,12 @@
 package harkerrobolib.wrappers;
 
 import com.ctre.phoenix6.ErrorCode;
+import com.ctre.phoenix6.ParamEnum;
+import com.ctre.phoenix6.motorcontrol.ControlMode;
+import com.ctre.phoenix6.motorcontrol.DemandType;
 import com.ctre.phoenix6.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix6.motorcontrol.FollowerType;
+import com.ctre.phoenix6.motorcontrol.IMotorController;
 import com.ctre.phoenix6.motorcontrol.RemoteFeedbackDevice;
 import com.ctre.phoenix6.motorcontrol.StatorCurrentLimitConfiguration;
 import com.ctre.phoenix6.motorcontrol.SupplyCurrentLimitConfiguration;
@@ -9,6 +14,7 @@ import com.ctre.phoenix6.motorcontrol.can.TalonSRX;
 import com.ctre.phoenix6.sensors.AbsoluteSensorRange;
 import com.ctre.phoenix6.sensors.SensorInitializationStrategy;
 import harkerrobolib.util.Constants;
+import java.util.concurrent.Future;
 
 /**
  * Wraps a standard TalonSRX.
@@ -17,6 +23,10 @@ import harkerrobolib.util.Constants;
  * @author Ada Praun-Petrovic
  */
 public class HSTalon extends TalonSRX implements HSMotorController {
+  private DemandCoalescer coalescer;
+  private final ConfigShadow shadow = new ConfigShadow();
+  private SlotGainCache gainCache;
+
   /**
    * Constructs a TalonSRXWrapper with the default timeout {{@link Constants#DEFAULT_TIMEOUT}.
    *
@@ -26,44 +36,124 @@ public class HSTalon extends TalonSRX implements HSMotorController {
     super(deviceNumber);
   }
 
+  /**
+   * Enables or disables demand coalescing. While enabled, calls to {@code set} that repeat the last
+   * demand sent are suppressed until the coalescer's keep-alive period passes. This Talon has no
+   * motor safety watchdog, so any external timeout must be longer than the keep-alive period.
+   *
+   * @param coalescer the coalescer to use, or null to send every demand
+   */
+  public void setDemandCoalescer(DemandCoalescer coalescer) {
+    this.coalescer = coalescer;
+  }
+
+  @Override
+  public DemandCoalescer getDemandCoalescer() {
+    return coalescer;
+  }
+
+  @Override
+  public synchronized SlotGainCache getSlotGainCache() {
+    if (gainCache == null) {
+      gainCache = new SlotGainCache(this);
+    }
+    return gainCache;
+  }
+
+  @Override
+  public void set(ControlMode mode, double outputValue) {
+    set(mode, outputValue, DemandType.Neutral, 0);
+  }
+
+  @Override
+  public void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+    if (coalescer == null || coalescer.shouldSend(mode, demand0, demand1Type, demand1)) {
+      super.set(mode, demand0, demand1Type, demand1);
+    }
+  }
+
+  @Override
+  public void neutralOutput() {
+    if (coalescer != null) {
+      coalescer.invalidate();
+    }
+    super.neutralOutput();
+  }
+
+  @Override
+  public void follow(IMotorController masterToFollow, FollowerType followerType) {
+    if (coalescer != null) {
+      coalescer.invalidate();
+    }
+    super.follow(masterToFollow, followerType);
+  }
+
+  @Override
+  public void follow(IMotorController masterToFollow) {
+    if (coalescer != null) {
+      coalescer.invalidate();
+    }
+    super.follow(masterToFollow);
+  }
+
   @Override
   public ErrorCode configStatorCurrentLimit(
       StatorCurrentLimitConfiguration currLimitCfg, int timeoutMs) {
-    configStatorCurrentLimit(currLimitCfg);
-    return ErrorCode.OK;
+    enableCurrentLimit(currLimitCfg.enable);
+    ErrorCode error = configPeakCurrentLimit((int) currLimitCfg.triggerThresholdCurrent, timeoutMs);
+    ErrorCode next =
+        configPeakCurrentDuration((int) (currLimitCfg.triggerThresholdTime * 1000), timeoutMs);
+    if (error == ErrorCode.OK) {
+      error = next;
+    }
+    next = configContinuousCurrentLimit((int) currLimitCfg.currentLimit, timeoutMs);
+    if (error == ErrorCode.OK) {
+      error = next;
+    }
+    return shadow.record(error, currLimitCfg);
   }
 
   @Override
   public ErrorCode configStatorCurrentLimit(StatorCurrentLimitConfiguration currLimitCfg) {
-    enableCurrentLimit(currLimitCfg.enable);
-    configPeakCurrentLimit((int) currLimitCfg.triggerThresholdCurrent);
-    configPeakCurrentDuration((int) (currLimitCfg.triggerThresholdTime * 1000));
-    configContinuousCurrentLimit((int) currLimitCfg.currentLimit);
-    return ErrorCode.OK;
+    return configStatorCurrentLimit(currLimitCfg, Constants.DEFAULT_TIMEOUT);
   }
 
+  @Override
+  public ErrorCode configSupplyCurrentLimit(
+      SupplyCurrentLimitConfiguration currLimitCfg, int timeoutMs) {
+    return shadow.record(super.configSupplyCurrentLimit(currLimitCfg, timeoutMs), currLimitCfg);
+  }
+
+  /** Answers from the configuration shadow if a limit was written through this wrapper. */
   @Override
   public ErrorCode configGetSupplyCurrentLimit(
       SupplyCurrentLimitConfiguration currLimitConfigsToFill, int timeoutMs) {
-    return ErrorCode.OK;
+    if (shadow.fill(currLimitConfigsToFill)) {
+      return ErrorCode.OK;
+    }
+    return super.configGetSupplyCurrentLimit(currLimitConfigsToFill, timeoutMs);
   }
 
   @Override
   public ErrorCode configGetSupplyCurrentLimit(
       SupplyCurrentLimitConfiguration currLimitConfigsToFill) {
-    return ErrorCode.OK;
+    return configGetSupplyCurrentLimit(currLimitConfigsToFill, Constants.DEFAULT_TIMEOUT);
   }
 
+  /**
+   * Answers from the configuration shadow. A Talon SRX has no stator limit to read back, so this
+   * fails if no limit has been written through this wrapper.
+   */
   @Override
   public ErrorCode configGetStatorCurrentLimit(
       StatorCurrentLimitConfiguration currLimitConfigsToFill, int timeoutMs) {
-    return ErrorCode.OK;
+    return shadow.fill(currLimitConfigsToFill) ? ErrorCode.OK : ErrorCode.GeneralError;
   }
 
   @Override
   public ErrorCode configGetStatorCurrentLimit(
       StatorCurrentLimitConfiguration currLimitConfigsToFill) {
-    return ErrorCode.OK;
+    return configGetStatorCurrentLimit(currLimitConfigsToFill, Constants.DEFAULT_TIMEOUT);
   }
 
   @Override
@@ -99,6 +189,201 @@ public class HSTalon extends TalonSRX implements HSMotorController {
     return ErrorCode.OK;
   }
 
+  @Override
+  public ConfigShadow getConfigShadow() {
+    return shadow;
+  }
+
+  /**
+   * Compares every configuration value written through this wrapper against the device on a
+   * background thread, reporting drifted values as Driver Station warnings. Values that cannot be
+   * read, such as while the device is disconnected, are reported separately rather than as drift.
+   *
+   * @return the number of values that differ, once the pass completes
+   */
+  public Future<Integer> verifyConfig() {
+    return shadow.verify(this::readDeviceParameter, "HSTalon " + getDeviceID());
+  }
+
+  /** Reads a parameter from the device, returning NaN if the read fails. */
+  private double readDeviceParameter(ParamEnum param, int ordinal) {
+    double value = super.configGetParameter(param, ordinal, Constants.DEFAULT_TIMEOUT);
+    return getLastError() == ErrorCode.OK ? value : Double.NaN;
+  }
+
+  /** Forgets every shadowed configuration value, since the device no longer holds them. */
+  @Override
+  public ErrorCode configFactoryDefault(int timeoutMs) {
+    shadow.clear();
+    return super.configFactoryDefault(timeoutMs);
+  }
+
+  @Override
+  public ErrorCode configFactoryDefault() {
+    shadow.clear();
+    return super.configFactoryDefault();
+  }
+
+  @Override
+  public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    return shadow.record(
+        super.configOpenloopRamp(secondsFromNeutralToFull, timeoutMs),
+        ParamEnum.eOpenloopRamp,
+        0,
+        secondsFromNeutralToFull);
+  }
+
+  @Override
+  public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+    return shadow.record(
+        super.configClosedloopRamp(secondsFromNeutralToFull, timeoutMs),
+        ParamEnum.eClosedloopRamp,
+        0,
+        secondsFromNeutralToFull);
+  }
+
+  @Override
+  public ErrorCode configPeakOutputForward(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configPeakOutputForward(percentOut, timeoutMs),
+        ParamEnum.ePeakPosOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configPeakOutputReverse(percentOut, timeoutMs),
+        ParamEnum.ePeakNegOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configNominalOutputForward(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configNominalOutputForward(percentOut, timeoutMs),
+        ParamEnum.eNominalPosOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs) {
+    return shadow.record(
+        super.configNominalOutputReverse(percentOut, timeoutMs),
+        ParamEnum.eNominalNegOutput,
+        0,
+        percentOut);
+  }
+
+  @Override
+  public ErrorCode configNeutralDeadband(double percentDeadband, int timeoutMs) {
+    return shadow.record(
+        super.configNeutralDeadband(percentDeadband, timeoutMs),
+        ParamEnum.eNeutralDeadband,
+        0,
+        percentDeadband);
+  }
+
+  @Override
+  public ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+    return shadow.record(
+        super.configVoltageCompSaturation(voltage, timeoutMs),
+        ParamEnum.eNominalBatteryVoltage,
+        0,
+        voltage);
+  }
+
+  @Override
+  public ErrorCode configForwardSoftLimitThreshold(double forwardSensorLimit, int timeoutMs) {
+    return shadow.record(
+        super.configForwardSoftLimitThreshold(forwardSensorLimit, timeoutMs),
+        ParamEnum.eForwardSoftLimitThreshold,
+        0,
+        forwardSensorLimit);
+  }
+
+  @Override
+  public ErrorCode configReverseSoftLimitThreshold(double reverseSensorLimit, int timeoutMs) {
+    return shadow.record(
+        super.configReverseSoftLimitThreshold(reverseSensorLimit, timeoutMs),
+        ParamEnum.eReverseSoftLimitThreshold,
+        0,
+        reverseSensorLimit);
+  }
+
+  @Override
+  public ErrorCode configMotionCruiseVelocity(double sensorUnitsPer100ms, int timeoutMs) {
+    return shadow.record(
+        super.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs),
+        ParamEnum.eMotMag_VelCruise,
+        0,
+        sensorUnitsPer100ms);
+  }
+
+  @Override
+  public ErrorCode configMotionAcceleration(double sensorUnitsPer100msPerSec, int timeoutMs) {
+    return shadow.record(
+        super.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs),
+        ParamEnum.eMotMag_Accel,
+        0,
+        sensorUnitsPer100msPerSec);
+  }
+
+  @Override
+  public ErrorCode config_kP(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kP(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_P, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kI(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kI(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_I, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kD(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kD(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_D, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_kF(int slotIdx, double value, int timeoutMs) {
+    return shadow.record(
+        super.config_kF(slotIdx, value, timeoutMs), ParamEnum.eProfileParamSlot_F, slotIdx, value);
+  }
+
+  @Override
+  public ErrorCode config_IntegralZone(int slotIdx, double izone, int timeoutMs) {
+    return shadow.record(
+        super.config_IntegralZone(slotIdx, izone, timeoutMs),
+        ParamEnum.eProfileParamSlot_IZone,
+        slotIdx,
+        izone);
+  }
+
+  @Override
+  public ErrorCode configSetParameter(
+      ParamEnum param, double value, int subValue, int ordinal, int timeoutMs) {
+    return shadow.record(
+        super.configSetParameter(param, value, subValue, ordinal, timeoutMs),
+        param,
+        ordinal,
+        value);
+  }
+
+  /** Answers from the configuration shadow if the parameter was written through this wrapper. */
+  @Override
+  public double configGetParameter(ParamEnum param, int ordinal, int timeoutMs) {
+    if (shadow.has(param, ordinal)) {
+      return shadow.get(param, ordinal);
+    }
+    return super.configGetParameter(param, ordinal, timeoutMs);
+  }
+
   @Override
   public ErrorCode configSelectedFeedbackSensor(RemoteFeedbackDevice feedbackDevice, int pidIdx) {
     return super.configSelectedFeedbackSensor(feedbackDevice, pidIdx, Constants.DEFAULT_TIMEOUT);
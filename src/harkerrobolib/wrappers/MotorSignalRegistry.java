@@ -0,0 +1,139 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.TalonFX;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Collects the status signals of every registered Talon FX and refreshes them with one batched
+ * call per CAN bus each loop. Motors built by {@link harkerrobolib.util.HSFalconBuilder} are
+ * registered automatically; call {@link #refreshAll()} once at the start of each robot loop, for
+ * example from {@code robotPeriodic}, and read values from each motor's {@link MotorSignals}.
+ *
+ * @since 10/17/26
+ */
+public final class MotorSignalRegistry {
+  /** The name of the roboRIO's own CAN bus, which Phoenix also accepts as an empty string. */
+  public static final String RIO_BUS = "rio";
+
+  private static final ArrayList<Bus> buses = new ArrayList<>();
+  private static volatile int generation;
+
+  private MotorSignalRegistry() {}
+
+  /** The motors and signals on one CAN bus. */
+  private static class Bus {
+    private final String name;
+    private final ArrayList<MotorSignals> motors = new ArrayList<>();
+    private BaseStatusSignal[] signals = new BaseStatusSignal[0];
+
+    private Bus(String name) {
+      this.name = name;
+    }
+
+    private void add(MotorSignals motor) {
+      motors.add(motor);
+      BaseStatusSignal[] added = motor.getStatusSignals();
+      int start = signals.length;
+      signals = Arrays.copyOf(signals, start + added.length);
+      System.arraycopy(added, 0, signals, start, added.length);
+    }
+  }
+
+  /**
+   * Registers a motor, or returns its existing registration.
+   *
+   * @param motor the motor to register
+   * @return the motor's signal snapshot
+   */
+  public static synchronized MotorSignals register(TalonFX motor) {
+    MotorSignals existing = get(motor.getDeviceID(), motor.getNetwork());
+    if (existing != null) {
+      return existing;
+    }
+    MotorSignals signals = new MotorSignals(motor);
+    getBus(normalizeBus(motor.getNetwork())).add(signals);
+    generation++;
+    return signals;
+  }
+
+  /**
+   * Returns a number that changes every time a motor is registered, so a failed lookup can be
+   * cached until it might succeed. Reading it does not lock the registry.
+   *
+   * @return the registration generation
+   */
+  public static int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Looks up a registered motor.
+   *
+   * @param deviceID the CAN device ID of the motor
+   * @param canbus the name of the CAN bus the motor is on; "" and {@value #RIO_BUS} are the same
+   * @return the motor's signal snapshot, or null if it is not registered
+   */
+  public static synchronized MotorSignals get(int deviceID, String canbus) {
+    canbus = normalizeBus(canbus);
+    for (int i = 0; i < buses.size(); i++) {
+      Bus bus = buses.get(i);
+      if (!bus.name.equals(canbus)) {
+        continue;
+      }
+      for (int j = 0; j < bus.motors.size(); j++) {
+        MotorSignals motor = bus.motors.get(j);
+        if (motor.getMotor().getDeviceID() == deviceID) {
+          return motor;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Copies every registered motor into a list, grouped by bus.
+   *
+   * @param into the list to fill; it is cleared first
+   */
+  static synchronized void getAll(ArrayList<MotorSignals> into) {
+    into.clear();
+    for (int i = 0; i < buses.size(); i++) {
+      into.addAll(buses.get(i).motors);
+    }
+  }
+
+  /** Maps the names Phoenix accepts for the roboRIO's CAN bus onto {@value #RIO_BUS}. */
+  private static String normalizeBus(String canbus) {
+    return canbus == null || canbus.isEmpty() ? RIO_BUS : canbus;
+  }
+
+  private static Bus getBus(String name) {
+    for (int i = 0; i < buses.size(); i++) {
+      if (buses.get(i).name.equals(name)) {
+        return buses.get(i);
+      }
+    }
+    Bus bus = new Bus(name);
+    buses.add(bus);
+    return bus;
+  }
+
+  /**
+   * Refreshes the signals of every registered motor, one batched request per CAN bus, and updates
+   * each motor's snapshot.
+   */
+  public static synchronized void refreshAll() {
+    for (int i = 0; i < buses.size(); i++) {
+      Bus bus = buses.get(i);
+      if (bus.signals.length == 0) {
+        continue;
+      }
+      BaseStatusSignal.refreshAll(bus.signals);
+      for (int j = 0; j < bus.motors.size(); j++) {
+        bus.motors.get(j).update();
+      }
+    }
+  }
+}
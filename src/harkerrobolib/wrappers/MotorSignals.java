@@ -0,0 +1,231 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.hardware.TalonFX;
+import harkerrobolib.util.SignalFilter;
+
+/**
+ * Holds a cached, timestamped snapshot of the status signals of one Talon FX. The snapshot is
+ * refreshed for every registered motor at once by {@link MotorSignalRegistry#refreshAll()}, after
+ * which the getters below answer from memory instead of each performing a device read.
+ *
+ * @since 10/17/26
+ */
+public class MotorSignals {
+  /** The longest time a position is extrapolated over, in seconds. */
+  public static final double MAX_EXTRAPOLATION = 0.1;
+  /** The longest time since the last refresh for which the snapshot is fresh, in seconds. */
+  public static final double MAX_SNAPSHOT_AGE = 0.1;
+
+  private final TalonFX motor;
+
+  private final StatusSignal<Double> position;
+  private final StatusSignal<Double> velocity;
+  private final StatusSignal<Double> statorCurrent;
+  private final StatusSignal<Double> supplyCurrent;
+  private final StatusSignal<Double> motorVoltage;
+  private final StatusSignal<Double> supplyVoltage;
+  private final StatusSignal<Double> deviceTemp;
+  private final BaseStatusSignal[] signals;
+
+  private double positionValue;
+  private double velocityValue;
+  private double statorCurrentValue;
+  private double supplyCurrentValue;
+  private double motorVoltageValue;
+  private double supplyVoltageValue;
+  private double deviceTempValue;
+  private double positionTimestamp;
+  private double velocityTimestamp;
+  private double supplyVoltageTimestamp;
+
+  private SignalFilter velocityFilter;
+  private SignalFilter voltageFilter;
+
+  private final double[] lastTimestamps;
+  private final int[] updateCounts;
+  private int refreshCount;
+  private double refreshTime;
+
+  MotorSignals(TalonFX motor) {
+    this.motor = motor;
+    position = motor.getPosition();
+    velocity = motor.getVelocity();
+    statorCurrent = motor.getStatorCurrent();
+    supplyCurrent = motor.getSupplyCurrent();
+    motorVoltage = motor.getMotorVoltage();
+    supplyVoltage = motor.getSupplyVoltage();
+    deviceTemp = motor.getDeviceTemp();
+    signals =
+        new BaseStatusSignal[] {
+          position,
+          velocity,
+          statorCurrent,
+          supplyCurrent,
+          motorVoltage,
+          supplyVoltage,
+          deviceTemp
+        };
+    lastTimestamps = new double[signals.length];
+    updateCounts = new int[signals.length];
+  }
+
+  /** Copies the latest refreshed signal values into the snapshot. */
+  void update() {
+    positionValue = position.getValueAsDouble();
+    velocityValue = velocity.getValueAsDouble();
+    statorCurrentValue = statorCurrent.getValueAsDouble();
+    supplyCurrentValue = supplyCurrent.getValueAsDouble();
+    motorVoltageValue = motorVoltage.getValueAsDouble();
+    supplyVoltageValue = supplyVoltage.getValueAsDouble();
+    deviceTempValue = deviceTemp.getValueAsDouble();
+    positionTimestamp = position.getTimestamp().getTime();
+    double measured = velocity.getTimestamp().getTime();
+    if (velocityFilter != null && measured != velocityTimestamp) {
+      velocityFilter.calculate(velocityValue);
+    }
+    velocityTimestamp = measured;
+    measured = supplyVoltage.getTimestamp().getTime();
+    if (voltageFilter != null && measured != supplyVoltageTimestamp) {
+      voltageFilter.calculate(supplyVoltageValue);
+    }
+    supplyVoltageTimestamp = measured;
+    refreshCount++;
+    refreshTime = Utils.getCurrentTimeSeconds();
+    for (int i = 0; i < signals.length; i++) {
+      double timestamp = signals[i].getTimestamp().getTime();
+      if (timestamp != lastTimestamps[i]) {
+        lastTimestamps[i] = timestamp;
+        updateCounts[i]++;
+      }
+    }
+  }
+
+  /** @return the signals in this snapshot, in the order they are refreshed */
+  BaseStatusSignal[] getStatusSignals() {
+    return signals;
+  }
+
+  /** @return the number of refreshes in which a signal had a new timestamp */
+  int getUpdateCount(int signal) {
+    return updateCounts[signal];
+  }
+
+  /** @return the number of times this snapshot has been refreshed */
+  int getRefreshCount() {
+    return refreshCount;
+  }
+
+  /**
+   * Determines whether the snapshot has been refreshed within the last {@value #MAX_SNAPSHOT_AGE}
+   * seconds. A snapshot that was never refreshed holds zeros, and one that is no longer refreshed
+   * holds stale values, so callers with a device to fall back on should read it instead.
+   *
+   * @return true if the snapshot is fresh; otherwise, false
+   */
+  public boolean isFresh() {
+    return refreshCount > 0 && Utils.getCurrentTimeSeconds() - refreshTime <= MAX_SNAPSHOT_AGE;
+  }
+
+  /** @return the motor this snapshot reads */
+  public TalonFX getMotor() {
+    return motor;
+  }
+
+  /** @return the position of the rotor, in rotations */
+  public double getSelectedSensorPosition() {
+    return positionValue;
+  }
+
+  /** @return the velocity of the rotor, in rotations per second */
+  public double getSelectedSensorVelocity() {
+    return velocityValue;
+  }
+
+  /** @return the stator current, in amps */
+  public double getStatorCurrent() {
+    return statorCurrentValue;
+  }
+
+  /** @return the supply current, in amps */
+  public double getSupplyCurrent() {
+    return supplyCurrentValue;
+  }
+
+  /** @return the voltage applied to the motor, in volts */
+  public double getMotorOutputVoltage() {
+    return motorVoltageValue;
+  }
+
+  /** @return the supply voltage of the motor controller, in volts */
+  public double getBusVoltage() {
+    return supplyVoltageValue;
+  }
+
+  /** @return the temperature of the motor controller, in degrees Celsius */
+  public double getTemperature() {
+    return deviceTempValue;
+  }
+
+  /** @return the time the position in this snapshot was measured, in seconds */
+  public double getPositionTimestamp() {
+    return positionTimestamp;
+  }
+
+  /** @return the time the velocity in this snapshot was measured, in seconds */
+  public double getVelocityTimestamp() {
+    return velocityTimestamp;
+  }
+
+  /**
+   * Filters the velocity, feeding the filter each time a refresh brings a new velocity measurement.
+   *
+   * @param filter the filter, or null to stop filtering
+   */
+  public void setVelocityFilter(SignalFilter filter) {
+    velocityFilter = filter;
+  }
+
+  /**
+   * Filters the supply voltage, feeding the filter each time a refresh brings a new measurement.
+   *
+   * @param filter the filter, or null to stop filtering
+   */
+  public void setVoltageFilter(SignalFilter filter) {
+    voltageFilter = filter;
+  }
+
+  /** @return the filtered velocity of the rotor, or the raw velocity if it is not filtered */
+  public double getFilteredVelocity() {
+    return velocityFilter != null ? velocityFilter.get() : velocityValue;
+  }
+
+  /** @return the filtered supply voltage, or the raw voltage if it is not filtered */
+  public double getFilteredBusVoltage() {
+    return voltageFilter != null ? voltageFilter.get() : supplyVoltageValue;
+  }
+
+  /**
+   * Estimates the position at the current time by extrapolating the snapshot's position with its
+   * velocity over the time since the position was measured.
+   *
+   * @return the estimated current position of the rotor, in rotations
+   */
+  public double getCompensatedPosition() {
+    double age = Utils.getCurrentTimeSeconds() - positionTimestamp;
+    return positionValue + velocityValue * Math.max(0.0, Math.min(MAX_EXTRAPOLATION, age));
+  }
+
+  /**
+   * Checks if the motor is stalling.
+   *
+   * @param stallCurrent minimum current indicating stall, in amps
+   * @param stallMinVelocity minimum velocity indicating stall, in rotations per second
+   * @return true if motor is stalling; otherwise false
+   */
+  public boolean isStalling(double stallCurrent, double stallMinVelocity) {
+    return statorCurrentValue > stallCurrent && velocityValue < stallMinVelocity;
+  }
+}
@@ -0,0 +1,207 @@
+package harkerrobolib.wrappers;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.ArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Publishes a motor's state to NetworkTables from its cached {@link MotorSignals} snapshot, so
+ * dashboard telemetry performs no device reads. Each field is published through its own typed
+ * publisher at a configurable fraction of the loop rate, and only when it has changed by more than
+ * the field's deadband since it was last published. Sensor values are published in Phoenix 6
+ * units, which are named in their keys.
+ *
+ * @since 10/17/26
+ */
+public class MotorTelemetry {
+  /** The name of the table motor telemetry is published under by default. */
+  public static final String DEFAULT_TABLE = "Motors";
+
+  private static final ArrayList<MotorTelemetry> instances = new ArrayList<>();
+
+  /** The values published for each motor. */
+  public enum Field {
+    OUTPUT_VOLTAGE("Output Voltage", 5, 0.1),
+    SUPPLY_CURRENT("Supply Current", 5, 0.5),
+    STATOR_CURRENT("Stator Current", 5, 0.5),
+    ENCODER_VELOCITY("Encoder Velocity (rps)", 1, 0.01),
+    ENCODER_POSITION("Encoder Position (rotations)", 1, 0.01),
+    TEMPERATURE("Temperature", 50, 1.0);
+
+    private final String key;
+    private final int defaultDecimation;
+    private final double defaultDeadband;
+
+    Field(String key, int defaultDecimation, double defaultDeadband) {
+      this.key = key;
+      this.defaultDecimation = defaultDecimation;
+      this.defaultDeadband = defaultDeadband;
+    }
+
+    /** @return the number of updates per sample of this field, unless configured otherwise */
+    public int getDefaultDecimation() {
+      return defaultDecimation;
+    }
+
+    /**
+     * Returns the change below which a new sample is not published, unless configured otherwise.
+     *
+     * @return the deadband, in the units this field is published in
+     */
+    public double getDefaultDeadband() {
+      return defaultDeadband;
+    }
+
+    private double read(MotorSignals signals) {
+      switch (this) {
+        case OUTPUT_VOLTAGE:
+          return signals.getMotorOutputVoltage();
+        case SUPPLY_CURRENT:
+          return signals.getSupplyCurrent();
+        case STATOR_CURRENT:
+          return signals.getStatorCurrent();
+        case ENCODER_VELOCITY:
+          return signals.getSelectedSensorVelocity();
+        case ENCODER_POSITION:
+          return signals.getSelectedSensorPosition();
+        default:
+          return signals.getTemperature();
+      }
+    }
+  }
+
+  private static final Field[] FIELDS = Field.values();
+
+  private final MotorSignals signals;
+  private final DoublePublisher[] publishers = new DoublePublisher[FIELDS.length];
+  private final int[] decimation = new int[FIELDS.length];
+  private final double[] deadband = new double[FIELDS.length];
+  private final double[] lastPublished = new double[FIELDS.length];
+  private final boolean[] published = new boolean[FIELDS.length];
+  private int loop;
+
+  /**
+   * Creates telemetry for a motor under the {@value #DEFAULT_TABLE} table.
+   *
+   * @param signals the motor's signal snapshot
+   * @param name the name of the motor's subtable, such as "Left Drive"
+   */
+  public MotorTelemetry(MotorSignals signals, String name) {
+    this(signals, NetworkTableInstance.getDefault().getTable(DEFAULT_TABLE).getSubTable(name));
+  }
+
+  /**
+   * Creates telemetry for a motor in a given table.
+   *
+   * @param signals the motor's signal snapshot
+   * @param table the table to publish to
+   */
+  public MotorTelemetry(MotorSignals signals, NetworkTable table) {
+    this.signals = signals;
+    for (Field field : FIELDS) {
+      int i = field.ordinal();
+      publishers[i] = table.getDoubleTopic(field.key).publish();
+      decimation[i] = field.defaultDecimation;
+      deadband[i] = field.defaultDeadband;
+    }
+    synchronized (instances) {
+      instances.add(this);
+    }
+  }
+
+  /**
+   * Sets how often and how precisely a field is published.
+   *
+   * @param field the field to configure
+   * @param decimation the number of calls to {@link #update()} per sample of the field; 0 stops
+   *     publishing it
+   * @param deadband the change below which a new sample is not published
+   * @return this telemetry, for chaining
+   */
+  public MotorTelemetry configure(Field field, int decimation, double deadband) {
+    this.decimation[field.ordinal()] = decimation;
+    this.deadband[field.ordinal()] = deadband;
+    return this;
+  }
+
+  /** Samples the snapshot and publishes each field that is due and has changed. */
+  public void update() {
+    loop++;
+    for (int i = 0; i < FIELDS.length; i++) {
+      if (decimation[i] <= 0 || loop % decimation[i] != 0) {
+        continue;
+      }
+      double value = FIELDS[i].read(signals);
+      if (published[i] && Math.abs(value - lastPublished[i]) <= deadband[i]) {
+        continue;
+      }
+      publishers[i].set(value);
+      lastPublished[i] = value;
+      published[i] = true;
+    }
+  }
+
+  /** Updates every telemetry instance. Call this once per loop after refreshing signals. */
+  public static void updateAll() {
+    synchronized (instances) {
+      for (int i = 0; i < instances.size(); i++) {
+        instances.get(i).update();
+      }
+    }
+  }
+
+  /**
+   * Wraps a getter for use as a {@code Sendable} property, which is polled on every dashboard
+   * update. The getter is only called on every decimation-th poll, and the value returned only
+   * changes once the getter has moved by more than the deadband.
+   *
+   * @param getter the getter to wrap
+   * @param decimation the number of polls per call to the getter; values below 1 are treated as 1
+   * @param deadband the change below which the previous value is returned
+   * @return the rate-limited getter
+   */
+  public static DoubleSupplier throttle(DoubleSupplier getter, int decimation, double deadband) {
+    return new Throttle(getter, Math.max(decimation, 1), deadband);
+  }
+
+  /** A getter that is sampled at a fraction of the rate it is polled at. */
+  private static class Throttle implements DoubleSupplier {
+    private final DoubleSupplier getter;
+    private final int decimation;
+    private final double deadband;
+    private int polls;
+    private boolean sampled;
+    private double value;
+
+    private Throttle(DoubleSupplier getter, int decimation, double deadband) {
+      this.getter = getter;
+      this.decimation = decimation;
+      this.deadband = deadband;
+    }
+
+    @Override
+    public double getAsDouble() {
+      if (sampled && ++polls % decimation != 0) {
+        return value;
+      }
+      double sample = getter.getAsDouble();
+      if (!sampled || Math.abs(sample - value) > deadband) {
+        value = sample;
+        sampled = true;
+      }
+      return value;
+    }
+  }
+
+  /** Stops publishing this motor's telemetry and releases its publishers. */
+  public void close() {
+    synchronized (instances) {
+      instances.remove(this);
+    }
+    for (DoublePublisher publisher : publishers) {
+      publisher.close();
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.hardware.TalonFX;
+import harkerrobolib.util.DoubleRingBuffer;
+
+/**
+ * Samples the position and velocity of a group of Talon FX motors on a dedicated thread, faster
+ * than the robot loop. The thread blocks until every motor has published a new position and
+ * velocity, then queues one timestamped record in a lock-free {@link DoubleRingBuffer}; the main
+ * loop drains every record queued since its last cycle with {@link #poll(double[])}, so odometry
+ * can integrate at the sampling rate without the scheduler thread ever waiting on the bus.
+ *
+ * <p>Each record holds the sample time followed by the position and velocity of each motor, in the
+ * order the motors were given; use {@link #getPosition(double[], int)} and {@link
+ * #getVelocity(double[], int)} to read it. All motors must be on the same CAN bus.
+ *
+ * @since 10/17/26
+ */
+public class SensorSampler {
+  /** The default sampling rate, in Hz. */
+  public static final double DEFAULT_FREQUENCY = 250;
+  /** The default number of records the queue holds, enough for several missed loops. */
+  public static final int DEFAULT_CAPACITY = 64;
+
+  private static final int TIMESTAMP = 0;
+  private static final int HEADER_LENGTH = 1;
+
+  private final double frequency;
+  private final int motorCount;
+  private final StatusSignal<Double>[] positions;
+  private final StatusSignal<Double>[] velocities;
+  private final BaseStatusSignal[] signals;
+  private final DoubleRingBuffer samples;
+  private final double[] record;
+
+  private Thread thread;
+  private volatile boolean running;
+  private volatile long errorCount;
+
+  /**
+   * Creates a sampler.
+   *
+   * @param frequency the rate at which to sample, in Hz
+   * @param capacity the number of records the queue holds
+   * @param motors the motors to sample, all on the same CAN bus
+   * @throws IllegalArgumentException if no motors are given or they are on different buses
+   */
+  @SuppressWarnings("unchecked")
+  public SensorSampler(double frequency, int capacity, TalonFX... motors) {
+    if (motors.length == 0) {
+      throw new IllegalArgumentException("At least one motor is required");
+    }
+    this.frequency = frequency;
+    motorCount = motors.length;
+    positions = new StatusSignal[motorCount];
+    velocities = new StatusSignal[motorCount];
+    signals = new BaseStatusSignal[2 * motorCount];
+    for (int i = 0; i < motorCount; i++) {
+      if (!motors[i].getNetwork().equals(motors[0].getNetwork())) {
+        throw new IllegalArgumentException("All sampled motors must be on the same CAN bus");
+      }
+      // Sample private copies so this thread never refreshes the signal objects that
+      // MotorSignalRegistry refreshes on the main thread
+      positions[i] = motors[i].getPosition().clone();
+      velocities[i] = motors[i].getVelocity().clone();
+      signals[2 * i] = positions[i];
+      signals[2 * i + 1] = velocities[i];
+    }
+    samples = new DoubleRingBuffer(capacity, HEADER_LENGTH + 2 * motorCount);
+    record = new double[samples.getRecordLength()];
+  }
+
+  /**
+   * Creates a sampler at {@value #DEFAULT_FREQUENCY} Hz.
+   *
+   * @param motors the motors to sample, all on the same CAN bus
+   */
+  public SensorSampler(TalonFX... motors) {
+    this(DEFAULT_FREQUENCY, DEFAULT_CAPACITY, motors);
+  }
+
+  /**
+   * Sets the update frequency of the sampled signals and starts the sampling thread. Does nothing
+   * if the thread is already running.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    BaseStatusSignal.setUpdateFrequencyForAll(frequency, signals);
+    running = true;
+    thread = new Thread(this::run, "SensorSampler");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Stops the sampling thread and waits for it to finish. */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    thread = null;
+  }
+
+  private void run() {
+    double timeout = 2.0 / frequency;
+    while (running) {
+      if (!BaseStatusSignal.waitForAll(timeout, signals).isOK()) {
+        errorCount++;
+        continue;
+      }
+      double timestamp = 0;
+      for (int i = 0; i < motorCount; i++) {
+        timestamp += positions[i].getTimestamp().getTime();
+        record[HEADER_LENGTH + 2 * i] = positions[i].getValueAsDouble();
+        record[HEADER_LENGTH + 2 * i + 1] = velocities[i].getValueAsDouble();
+      }
+      record[TIMESTAMP] = timestamp / motorCount;
+      samples.offer(record);
+    }
+  }
+
+  /**
+   * Copies the oldest queued sample. Call this in a loop on the main thread until it returns false
+   * to drain every sample since the last cycle.
+   *
+   * @param into the array to copy into; must hold at least {@link #getRecordLength()} values
+   * @return true if a sample was copied; false if none were queued
+   */
+  public boolean poll(double[] into) {
+    return samples.poll(into);
+  }
+
+  /** @return the number of doubles in each record */
+  public int getRecordLength() {
+    return samples.getRecordLength();
+  }
+
+  /** @return the number of motors in each record */
+  public int getMotorCount() {
+    return motorCount;
+  }
+
+  /**
+   * @param record a record copied by {@link #poll(double[])}
+   * @return the time the sample was taken, in seconds
+   */
+  public static double getTimestamp(double[] record) {
+    return record[TIMESTAMP];
+  }
+
+  /**
+   * @param record a record copied by {@link #poll(double[])}
+   * @param motor the index of the motor, in the order given to the constructor
+   * @return the position of the motor, in rotations
+   */
+  public static double getPosition(double[] record, int motor) {
+    return record[HEADER_LENGTH + 2 * motor];
+  }
+
+  /**
+   * @param record a record copied by {@link #poll(double[])}
+   * @param motor the index of the motor, in the order given to the constructor
+   * @return the velocity of the motor, in rotations per second
+   */
+  public static double getVelocity(double[] record, int motor) {
+    return record[HEADER_LENGTH + 2 * motor + 1];
+  }
+
+  /** @return the number of samples dropped because the main loop did not drain the queue */
+  public long getDroppedCount() {
+    return samples.getDroppedCount();
+  }
+
+  /** @return the number of waits that timed out or failed */
+  public long getErrorCount() {
+    return errorCount;
+  }
+}
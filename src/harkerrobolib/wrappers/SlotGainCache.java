@@ -0,0 +1,215 @@
+package harkerrobolib.wrappers;
+
+import com.ctre.phoenix6.ErrorCode;
+import com.ctre.phoenix6.ParamEnum;
+import com.ctre.phoenix6.motorcontrol.can.SlotConfiguration;
+import harkerrobolib.util.Constants;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies closed-loop gains to a motor without flooding the CAN bus while they are being tuned
+ * live. Each call to {@link #update(SlotConfiguration, int)} diffs the given slot against the gains
+ * last requested, and only parameters that changed are queued; a background thread then writes the
+ * queued parameters one at a time at a bounded rate. The loop that calls {@code update} never
+ * blocks on a config write, and a value changed several times before it is sent is only sent once.
+ *
+ * <p>If the motor keeps a {@link ConfigShadow}, gains already written through the wrapper are
+ * treated as applied, so the first update does not resend them.
+ *
+ * <p>Every cache shares one writer thread, so a failed write is retried at most {@value
+ * #MAX_RETRIES} times before it is dropped; a disconnected motor cannot hold up the others.
+ * Each wrapper creates its cache on first use of {@link HSMotorController#getSlotGainCache()}.
+ *
+ * @since 10/17/26
+ */
+public class SlotGainCache {
+  /** The default maximum number of parameter writes per second. */
+  public static final double DEFAULT_WRITES_PER_SECOND = 20;
+  /** The number of gain slots on a motor controller. */
+  public static final int SLOT_COUNT = 4;
+  /** The number of times a failed write is retried before it is dropped. */
+  public static final int MAX_RETRIES = 3;
+
+  private static final ParamEnum[] PARAMS = {
+    ParamEnum.eProfileParamSlot_P,
+    ParamEnum.eProfileParamSlot_I,
+    ParamEnum.eProfileParamSlot_D,
+    ParamEnum.eProfileParamSlot_F,
+    ParamEnum.eProfileParamSlot_IZone,
+    ParamEnum.eProfileParamSlot_AllowableErr,
+    ParamEnum.eProfileParamSlot_MaxIAccum,
+    ParamEnum.eProfileParamSlot_PeakOutput
+  };
+
+  private static final ScheduledExecutorService writer =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "SlotGainCache");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final HSMotorController motor;
+  private final double[] targets = new double[SLOT_COUNT * PARAMS.length];
+  private final boolean[] dirty = new boolean[targets.length];
+  private final int[] retries = new int[targets.length];
+  private final double[] values = new double[PARAMS.length];
+  private final ScheduledFuture<?> task;
+  private int next;
+
+  private int sent;
+  private int failed;
+  private int dropped;
+  private int unchanged;
+
+  /**
+   * Creates a cache and starts writing queued parameters.
+   *
+   * @param motor the motor to configure
+   * @param writesPerSecond the maximum number of parameter writes per second
+   * @throws IllegalArgumentException if writesPerSecond is not positive
+   */
+  public SlotGainCache(HSMotorController motor, double writesPerSecond) {
+    if (!(writesPerSecond > 0)) {
+      throw new IllegalArgumentException("Writes per second must be positive: " + writesPerSecond);
+    }
+    this.motor = motor;
+    Arrays.fill(targets, Double.NaN);
+    long periodNanos = (long) (1e9 / writesPerSecond);
+    task =
+        writer.scheduleAtFixedRate(
+            this::writeNext, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Creates a cache that writes at most {@value #DEFAULT_WRITES_PER_SECOND} parameters per second.
+   *
+   * @param motor the motor to configure
+   */
+  public SlotGainCache(HSMotorController motor) {
+    this(motor, DEFAULT_WRITES_PER_SECOND);
+  }
+
+  /**
+   * Queues the parameters of a slot that differ from the ones last requested. Returns immediately.
+   *
+   * @param slot the gains
+   * @param slotIdx the slot to apply them to, in [0, {@value #SLOT_COUNT})
+   * @return the number of parameters queued
+   * @throws IllegalArgumentException if slotIdx is out of range
+   */
+  public synchronized int update(SlotConfiguration slot, int slotIdx) {
+    if (slotIdx < 0 || slotIdx >= SLOT_COUNT) {
+      throw new IllegalArgumentException("Slot index out of range: " + slotIdx);
+    }
+    values[0] = slot.kP;
+    values[1] = slot.kI;
+    values[2] = slot.kD;
+    values[3] = slot.kF;
+    values[4] = slot.integralZone;
+    values[5] = slot.allowableClosedloopError;
+    values[6] = slot.maxIntegralAccumulator;
+    values[7] = slot.closedLoopPeakOutput;
+    ConfigShadow shadow = motor.getConfigShadow();
+    int queued = 0;
+    for (int i = 0; i < PARAMS.length; i++) {
+      int index = slotIdx * PARAMS.length + i;
+      if (Double.isNaN(targets[index]) && shadow != null && shadow.has(PARAMS[i], slotIdx)) {
+        targets[index] = shadow.get(PARAMS[i], slotIdx);
+      }
+      if (targets[index] == values[i]) {
+        unchanged++;
+        continue;
+      }
+      targets[index] = values[i];
+      dirty[index] = true;
+      retries[index] = 0;
+      queued++;
+    }
+    return queued;
+  }
+
+  /** Writes the next queued parameter, if any, on the background thread. */
+  private void writeNext() {
+    int index = -1;
+    double value = 0;
+    synchronized (this) {
+      for (int i = 0; i < dirty.length; i++) {
+        int candidate = (next + i) % dirty.length;
+        if (dirty[candidate]) {
+          index = candidate;
+          value = targets[candidate];
+          dirty[candidate] = false;
+          next = candidate + 1;
+          break;
+        }
+      }
+    }
+    if (index < 0) {
+      return;
+    }
+    ErrorCode result =
+        motor.configSetParameter(
+            PARAMS[index % PARAMS.length],
+            value,
+            0,
+            index / PARAMS.length,
+            Constants.DEFAULT_TIMEOUT);
+    synchronized (this) {
+      if (result == ErrorCode.OK) {
+        sent++;
+        retries[index] = 0;
+      } else if (retries[index] < MAX_RETRIES) {
+        failed++;
+        retries[index]++;
+        // Queue the parameter again; the retry sends whatever value was requested last
+        dirty[index] = true;
+      } else {
+        dropped++;
+        retries[index] = 0;
+        // Forget the target so the next update queues the value again
+        targets[index] = Double.NaN;
+      }
+    }
+  }
+
+  /** @return the number of parameters waiting to be written */
+  public synchronized int getPendingCount() {
+    int pending = 0;
+    for (int i = 0; i < dirty.length; i++) {
+      if (dirty[i]) {
+        pending++;
+      }
+    }
+    return pending;
+  }
+
+  /** @return the number of parameters written */
+  public synchronized int getSentCount() {
+    return sent;
+  }
+
+  /** @return the number of writes that failed and were queued again */
+  public synchronized int getFailedCount() {
+    return failed;
+  }
+
+  /** @return the number of writes given up on after {@value #MAX_RETRIES} retries */
+  public synchronized int getDroppedCount() {
+    return dropped;
+  }
+
+  /** @return the number of parameters skipped because they had not changed */
+  public synchronized int getUnchangedCount() {
+    return unchanged;
+  }
+
+  /** Stops writing queued parameters. */
+  public void close() {
+    task.cancel(false);
+  }
+}